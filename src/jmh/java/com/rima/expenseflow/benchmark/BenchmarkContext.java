@@ -0,0 +1,90 @@
+package com.rima.expenseflow.benchmark;
+
+import com.rima.expenseflow.ExpenseflowApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database,
+ * using the test profile for everything else.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        return start(database, 0, properties);
+    }
+
+    /**
+     * As start, with roundTripMicros added to every statement execute to stand in for the
+     * network round trip to Postgres; H2 in memory has none, so saved statements would not
+     * show otherwise.
+     */
+    public static ConfigurableApplicationContext start(String database, long roundTripMicros, String... properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(ExpenseflowApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .initializers(context -> {
+                    if (roundTripMicros > 0) {
+                        context.getBeanFactory().addBeanPostProcessor(delaying(roundTripMicros));
+                    }
+                })
+                .properties("spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate=ERROR")
+                .properties(properties)
+                .run();
+    }
+
+    private static BeanPostProcessor delaying(long roundTripMicros) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                return new DelegatingDataSource(pool) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return (Connection) delaying(super.getConnection(), Connection.class, roundTripMicros);
+                    }
+                };
+            }
+        };
+    }
+
+    // Statements created by the connection are wrapped too; their execute* methods are delayed
+    private static Object delaying(Object target, Class<?> type, long roundTripMicros) {
+        return Proxy.newProxyInstance(BenchmarkContext.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return result instanceof Statement && method.getReturnType().isInterface()
+                            ? delaying(result, method.getReturnType(), roundTripMicros)
+                            : result;
+                });
+    }
+}
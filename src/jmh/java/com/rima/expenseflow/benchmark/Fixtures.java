@@ -0,0 +1,131 @@
+package com.rima.expenseflow.benchmark;
+
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.TransactionFingerprint;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic fixture data for benchmarks: N users x M transactions spread over a
+ * range of months, with the category mix and amount spread of a typical household
+ * (many small expenses, few large incomes). The same seed always gives the same data.
+ */
+public final class Fixtures {
+
+    private static final Category[] EXPENSE_CATEGORIES = {
+            Category.FOOD, Category.FOOD, Category.FOOD, Category.TRANSPORT, Category.TRANSPORT,
+            Category.SHOPPING, Category.ENTERTAINMENT, Category.UTILITIES, Category.HOUSING,
+            Category.HEALTHCARE, Category.EDUCATION, Category.TRAVEL, Category.OTHER_EXPENSE
+    };
+
+    private static final Category[] INCOME_CATEGORIES = {
+            Category.SALARY, Category.SALARY, Category.SALARY, Category.FREELANCE,
+            Category.INVESTMENT, Category.GIFT, Category.OTHER_INCOME
+    };
+
+    private static final String[] DESCRIPTIONS = {
+            "Groceries", "Coffee", "Bus pass", "Fuel", "Restaurant", "Rent", "Electricity",
+            "Pharmacy", "Online order", "Cinema", "Book", "Flight", "Salary", "Invoice"
+    };
+
+    // One income per INCOME_EVERY transactions, roughly a salary among daily spending
+    private static final int INCOME_EVERY = 12;
+
+    private Fixtures() {
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("bench_user_" + i);
+            user.setEmail("bench_user_" + i + "@example.com");
+            user.setPassword("not-a-real-hash");
+            user.setRole("ROLE_USER");
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * perUser transactions for each user, dated uniformly across the months ending with
+     * lastMonth. Ids are assigned sequentially; timestamps are fixed.
+     */
+    public static List<Transaction> transactions(List<User> users, int perUser, YearMonth lastMonth,
+                                                 int months, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate first = lastMonth.minusMonths(months - 1L).atDay(1);
+        int days = (int) (lastMonth.atEndOfMonth().toEpochDay() - first.toEpochDay()) + 1;
+        LocalDateTime timestamp = first.atStartOfDay();
+
+        List<Transaction> transactions = new ArrayList<>(users.size() * perUser);
+        long id = 1;
+        for (User user : users) {
+            for (int i = 0; i < perUser; i++) {
+                boolean income = random.nextInt(INCOME_EVERY) == 0;
+                Transaction transaction = new Transaction();
+                transaction.setId(id++);
+                transaction.setUser(user);
+                transaction.setType(income ? TransactionType.INCOME : TransactionType.EXPENSE);
+                transaction.setCategory(income
+                        ? INCOME_CATEGORIES[random.nextInt(INCOME_CATEGORIES.length)]
+                        : EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)]);
+                transaction.setAmount(income ? amount(random, 500, 5000) : amount(random, 2, 250));
+                transaction.setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+                transaction.setTransactionDate(first.plusDays(random.nextInt(days)));
+                transaction.setCreatedAt(timestamp);
+                transaction.setUpdatedAt(timestamp);
+                transactions.add(transaction);
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Writes users and transactions with batched JDBC inserts, bypassing JPA so large
+     * datasets load in seconds. Ids are generated by the database; the transaction ids
+     * set by transactions() are ignored.
+     */
+    public static void insert(JdbcTemplate jdbc, List<User> users, List<Transaction> transactions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (User user : users) {
+            jdbc.update("INSERT INTO users (username, email, password, role, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    user.getUsername(), user.getEmail(), user.getPassword(), user.getRole(), now, now);
+            user.setId(jdbc.queryForObject("SELECT id FROM users WHERE username = ?",
+                    Long.class, user.getUsername()));
+        }
+
+        List<Object[]> rows = new ArrayList<>(transactions.size());
+        for (Transaction t : transactions) {
+            rows.add(new Object[]{t.getAmount(), t.getDescription(), t.getType().name(),
+                    t.getCategory().name(), Date.valueOf(t.getTransactionDate()),
+                    t.getUser().getId(), TransactionFingerprint.of(t), now, now});
+        }
+        // Ids from the same sequence Hibernate draws its pooled blocks from (H2 syntax)
+        jdbc.batchUpdate("INSERT INTO transactions "
+                + "(id, amount, description, type, category, transaction_date, user_id, fingerprint, "
+                + "possible_duplicate, created_at, updated_at) "
+                + "VALUES (NEXT VALUE FOR transactions_seq, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?)", rows);
+    }
+
+    private static BigDecimal amount(SplittableRandom random, int min, int max) {
+        // Log-uniform, so small amounts dominate as they do in real statements
+        double value = Math.exp(random.nextDouble(Math.log(min), Math.log(max)));
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,89 @@
+package com.rima.expenseflow.benchmark;
+
+import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The original monthly summary pipelines, kept as the baselines the current
+ * implementation is measured against: four stream passes over loaded entities, and
+ * the BigDecimal fold over (type, category) buckets that replaced them.
+ */
+public final class LegacySummary {
+
+    private LegacySummary() {
+    }
+
+    public static MonthlySummaryResponse fold(YearMonth month, List<Transaction> transactions) {
+        BigDecimal totalIncome = transactions.stream()
+                .filter(t -> t.getType() == TransactionType.INCOME)
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalExpenses = transactions.stream()
+                .filter(t -> t.getType() == TransactionType.EXPENSE)
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, BigDecimal> expensesByCategory = transactions.stream()
+                .filter(t -> t.getType() == TransactionType.EXPENSE)
+                .collect(Collectors.groupingBy(
+                        t -> t.getCategory().name(),
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
+                ));
+
+        Map<String, BigDecimal> incomeByCategory = transactions.stream()
+                .filter(t -> t.getType() == TransactionType.INCOME)
+                .collect(Collectors.groupingBy(
+                        t -> t.getCategory().name(),
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
+                ));
+
+        return MonthlySummaryResponse.builder()
+                .month(month)
+                .totalIncome(totalIncome)
+                .totalExpenses(totalExpenses)
+                .netSavings(totalIncome.subtract(totalExpenses))
+                .expensesByCategory(expensesByCategory)
+                .incomeByCategory(incomeByCategory)
+                .totalTransactions(transactions.size())
+                .build();
+    }
+
+    public static MonthlySummaryResponse foldBuckets(YearMonth month, List<? extends CategoryTotal> totals) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        Map<String, BigDecimal> expensesByCategory = new HashMap<>();
+        Map<String, BigDecimal> incomeByCategory = new HashMap<>();
+        long totalTransactions = 0;
+
+        for (CategoryTotal bucket : totals) {
+            if (bucket.getType() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(bucket.getTotal());
+                incomeByCategory.merge(bucket.getCategory().name(), bucket.getTotal(), BigDecimal::add);
+            } else {
+                totalExpenses = totalExpenses.add(bucket.getTotal());
+                expensesByCategory.merge(bucket.getCategory().name(), bucket.getTotal(), BigDecimal::add);
+            }
+            totalTransactions += bucket.getCount();
+        }
+
+        return MonthlySummaryResponse.builder()
+                .month(month)
+                .totalIncome(totalIncome)
+                .totalExpenses(totalExpenses)
+                .netSavings(totalIncome.subtract(totalExpenses))
+                .expensesByCategory(expensesByCategory)
+                .incomeByCategory(incomeByCategory)
+                .totalTransactions((int) totalTransactions)
+                .build();
+    }
+}
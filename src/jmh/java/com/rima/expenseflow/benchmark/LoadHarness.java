@@ -0,0 +1,226 @@
+package com.rima.expenseflow.benchmark;
+
+import com.rima.expenseflow.ExpenseflowApplication;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Closed-loop load test of GET /api/transactions/summary over real HTTP, once with
+ * Tomcat's platform-thread pool and once with spring.threads.virtual.enabled=true. Each
+ * of N clients sends its next request as soon as the previous one is answered, for
+ * warmup + seconds; only the measured window is reported.
+ *
+ * H2 answers in microseconds, so dbLatencyMs is added while a pooled connection is held
+ * (once per transaction) to stand in for a round trip to Postgres; without it there is
+ * no blocking for virtual threads to hide.
+ *
+ *   mvn -Pjmh -DskipTests test-compile exec:exec@load \
+ *       -Dload.args="modes=platform,virtual clients=1000,5000,10000 seconds=20 dbLatencyMs=10 pool=20"
+ *
+ * Client and server share one JVM and its CPUs; compare modes on the same machine only.
+ */
+public final class LoadHarness {
+
+    private static final int USERS = 100;
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "modes", "platform,virtual",
+                "clients", "1000,5000,10000",
+                "seconds", "20",
+                "warmup", "5",
+                "dbLatencyMs", "10",
+                "pool", "20"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-8s %7s %9s %8s %9s %9s %9s %9s",
+                "mode", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms"));
+        for (String mode : options.get("modes").split(",")) {
+            try (ConfigurableApplicationContext context = start(mode, options)) {
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                List<String> tokens = seed(context);
+                for (String clients : options.get("clients").split(",")) {
+                    Result result = run(port, tokens, Integer.parseInt(clients),
+                            Integer.parseInt(options.get("warmup")), Integer.parseInt(options.get("seconds")));
+                    report.add(String.format("%-8s %7s %9d %8d %9.0f %9.1f %9.1f %9.1f",
+                            mode, clients, result.requests(), result.errors(), result.throughput(),
+                            result.percentile(0.50), result.percentile(0.99), result.percentile(0.999)));
+                    System.out.println(report.get(report.size() - 1));
+                }
+            }
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(String mode, Map<String, String> options) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        long latencyMs = Long.parseLong(options.get("dbLatencyMs"));
+        return new SpringApplicationBuilder(ExpenseflowApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(delaying(latencyMs)))
+                .properties("spring.datasource.url=jdbc:h2:mem:load_" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                        "spring.datasource.hikari.maximum-pool-size=" + options.get("pool"),
+                        "server.port=0",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=10000",
+                        "expenseflow.datasource.bulkhead.acquire-timeout=30s",
+                        "expenseflow.metrics.n-plus-one=OFF",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate=ERROR")
+                .run();
+    }
+
+    // Wraps the pool itself, so the delay is spent holding a pooled connection
+    private static BeanPostProcessor delaying(long latencyMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool) || latencyMs == 0) {
+                    return bean;
+                }
+                return new DelegatingDataSource(pool) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        Connection connection = super.getConnection();
+                        try {
+                            Thread.sleep(latencyMs);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return connection;
+                    }
+                };
+            }
+        };
+    }
+
+    private static List<String> seed(ConfigurableApplicationContext context) {
+        List<User> users = Fixtures.users(USERS);
+        Fixtures.insert(context.getBean(JdbcTemplate.class), users,
+                Fixtures.transactions(users, 50, YearMonth.now(), 1, 42L));
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        return users.stream().map(user -> "Bearer " + jwtUtil.generateToken(user)).toList();
+    }
+
+    private static Result run(int port, List<String> tokens, int clients, int warmupSeconds, int seconds) {
+        URI uri = URI.create("http://localhost:" + port + "/api/transactions/summary");
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(seconds).toNanos();
+        LongAdder errors = new LongAdder();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        List<LatencyLog> logs = new ArrayList<>(clients);
+
+        // One virtual thread per client; the HttpClient keeps its own executor
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                LatencyLog log = new LatencyLog();
+                logs.add(log);
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Authorization", tokens.get(c % tokens.size()))
+                        .timeout(Duration.ofSeconds(60))
+                        .build();
+                executor.submit(() -> {
+                    long start;
+                    while ((start = System.nanoTime()) < measureUntil) {
+                        boolean ok;
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            ok = response.statusCode() == 200;
+                            if (!ok) {
+                                firstError.compareAndSet(null, response.statusCode() + " " + response.body());
+                            }
+                        } catch (Exception e) {
+                            ok = false;
+                            firstError.compareAndSet(null, e.toString());
+                        }
+                        if (start < measureFrom) {
+                            continue;
+                        }
+                        if (ok) {
+                            log.add(System.nanoTime() - start);
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        if (firstError.get() != null) {
+            System.out.println("First error with " + clients + " clients: " + firstError.get());
+        }
+        long[] all = logs.stream().flatMapToLong(LatencyLog::stream).sorted().toArray();
+        return new Result(all.length, errors.sum(), all.length / (double) seconds, all);
+    }
+
+    // Written by one client thread, read after the executor has been closed
+    private static final class LatencyLog {
+
+        private long[] nanos = new long[256];
+        private int size;
+
+        void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        LongStream stream() {
+            return Arrays.stream(nanos, 0, size);
+        }
+    }
+
+    private record Result(long requests, long errors, double throughput, long[] sortedNanos) {
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
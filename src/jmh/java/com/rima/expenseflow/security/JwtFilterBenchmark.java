@@ -0,0 +1,83 @@
+package com.rima.expenseflow.security;
+
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.model.User;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per millisecond through JwtAuthenticationFilter. "lookup" resolves the principal
+ * from an in-memory map, i.e. a warm principal cache; a cold lookup adds a database round
+ * trip on top. "stateless" builds the principal from the token claims.
+ *
+ * revokedTokens pre-fills the revocation list; the per-request check is a hash lookup,
+ * so throughput should not move between 0 and a million revoked ids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"stateless", "lookup"})
+    public String mode;
+
+    @Param({"0", "1000000"})
+    public int revokedTokens;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.users(1).get(0);
+        JwtUtil jwtUtil = new JwtUtil(JwtBenchmark.SECRET, 3600000, "stateless".equals(mode));
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
+        UserDetailsService userDetailsService = username -> principal;
+        // Only the in-memory side is exercised; nothing here reaches the repository
+        TokenRevocationList revocationList = new TokenRevocationList(null);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        for (int i = 0; i < revokedTokens; i++) {
+            revocationList.remember(UUID.randomUUID().toString(), expiresAt);
+        }
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList);
+
+        request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.setServletPath("/api/transactions");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateAccessToken(user, UUID.randomUUID().toString()));
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        // OncePerRequestFilter marks the request as filtered; a fresh attribute set keeps it re-entrant
+        request.clearAttributes();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,108 @@
+package com.rima.expenseflow.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nanoseconds RateLimitFilter adds to an authenticated request, on 8 threads. The limit is
+ * set high enough that every request is admitted, so this is the bookkeeping alone: the
+ * bucket lookup and one compare-and-set. "baseline" is the same request through an empty
+ * chain. users=1 puts every thread on one bucket (worst-case CAS contention); a million
+ * users spreads them over a full bucket map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    @Param({"1", "1000000"})
+    public int users;
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        // 10 ns per permit and a 10 s burst: nothing is ever limited and no bucket expires mid-run
+        RateLimiter limiter = new RateLimiter(1e8, 1_000_000_000, 2_000_000);
+        for (long id = 0; id < users; id++) {
+            limiter.tryAcquire(id, 1);
+        }
+        filter = new RateLimitFilter(limiter, Map.of("/api/transactions/summary", 5),
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+    }
+
+    // A pool of requests from random users per thread, cycled so the setup stays out of the timing
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private static final int POOL = 4096;
+
+        final MockHttpServletRequest[] requests = new MockHttpServletRequest[POOL];
+        final UsernamePasswordAuthenticationToken[] authentications = new UsernamePasswordAuthenticationToken[POOL];
+        int next;
+
+        @Setup
+        public void setUp(RateLimitFilterBenchmark benchmark) {
+            for (int i = 0; i < POOL; i++) {
+                long id = ThreadLocalRandom.current().nextLong(benchmark.users);
+                AuthenticatedUser user = new AuthenticatedUser(id, "bench" + id, null, "ROLE_USER");
+                authentications[i] = new UsernamePasswordAuthenticationToken(user, null, List.of());
+                requests[i] = new MockHttpServletRequest("GET", "/api/transactions");
+            }
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline(Requests requests) throws ServletException, IOException {
+        return run(requests, false);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rateLimited(Requests requests) throws ServletException, IOException {
+        return run(requests, true);
+    }
+
+    private MockHttpServletResponse run(Requests requests, boolean limited) throws ServletException, IOException {
+        int i = requests.next++ & (Requests.POOL - 1);
+        MockHttpServletRequest request = requests.requests[i];
+        // OncePerRequestFilter marks the request as filtered; a fresh attribute set keeps it re-entrant
+        request.clearAttributes();
+        SecurityContextHolder.getContext().setAuthentication(requests.authentications[i]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (limited) {
+            filter.doFilter(request, response, new MockFilterChain());
+        } else {
+            new MockFilterChain().doFilter(request, response);
+        }
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.benchmark.LegacySummary;
+import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.model.MonthlyRollup;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation of the summary folds, with no database. Run with -prof gc and
+ * compare gc.alloc.rate.norm (bytes per call) between each legacy method and its
+ * replacement:
+ *
+ *   legacyEntityStreams / centsOverEntities  one pass per transaction
+ *   legacyFoldBuckets / foldBuckets          one pass per (day, category) bucket, the
+ *                                            shape trend and balance folds receive
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 2);
+
+    @Param({"10000", "100000"})
+    public int transactionsInMonth;
+
+    private TransactionService service;
+    private List<Transaction> transactions;
+    private List<MonthlyRollup> buckets;
+
+    @Setup
+    public void setUp() {
+        // Repositories are never reached by the methods measured here
+        service = new TransactionService(null, null, null, null, null, null);
+        transactions = Fixtures.transactions(Fixtures.users(1), transactionsInMonth, MONTH, 1, 42L);
+
+        Map<String, MonthlyRollup> byDayAndCategory = new HashMap<>();
+        for (Transaction t : transactions) {
+            LocalDate day = t.getTransactionDate();
+            MonthlyRollup bucket = byDayAndCategory.computeIfAbsent(day + "/" + t.getCategory(),
+                    key -> new MonthlyRollup(null, 1L, day, t.getType(), t.getCategory(), BigDecimal.ZERO, 0L));
+            bucket.setTotal(bucket.getTotal().add(t.getAmount()));
+            bucket.setCount(bucket.getCount() + 1);
+        }
+        buckets = new ArrayList<>(byDayAndCategory.values());
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse legacyEntityStreams() {
+        return LegacySummary.fold(MONTH, transactions);
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse centsOverEntities() {
+        CategoryCents cents = new CategoryCents();
+        for (Transaction t : transactions) {
+            cents.add(t.getType(), t.getCategory(), CategoryCents.toCents(t.getAmount()), 1);
+        }
+        return MonthlySummaryResponse.builder()
+                .month(MONTH)
+                .totalIncome(cents.total(TransactionType.INCOME))
+                .totalExpenses(cents.total(TransactionType.EXPENSE))
+                .netSavings(cents.net())
+                .expensesByCategory(cents.byCategory(TransactionType.EXPENSE))
+                .incomeByCategory(cents.byCategory(TransactionType.INCOME))
+                .totalTransactions((int) cents.count())
+                .build();
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse legacyFoldBuckets() {
+        return LegacySummary.foldBuckets(MONTH, buckets);
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse foldBuckets() {
+        return service.buildSummary(MONTH, buckets);
+    }
+}
@@ -0,0 +1,112 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.CategorizationRule;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Categorizing statement-like descriptions against N merchant rules. compiled is the
+ * single-pass CategoryMatcher; linearScan checks every rule in priority order with
+ * String.contains, as a straightforward implementation would. compile is the cost of a
+ * cache miss. Each invocation categorizes all DESCRIPTIONS descriptions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorizationBenchmark {
+
+    private static final int DESCRIPTIONS = 1000;
+    private static final Category[] CATEGORIES = {
+            Category.FOOD, Category.TRANSPORT, Category.SHOPPING, Category.UTILITIES,
+            Category.ENTERTAINMENT, Category.HEALTHCARE, Category.TRAVEL
+    };
+
+    @Param({"1000", "5000"})
+    public int ruleCount;
+
+    private List<CategorizationRule> rules;
+    private CategoryMatcher matcher;
+    private String[] descriptions;
+    private BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            CategorizationRule rule = new CategorizationRule();
+            rule.setId((long) i);
+            rule.setPattern(merchant(i));
+            rule.setMatchType(RuleMatchType.CONTAINS);
+            rule.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            rule.setType(TransactionType.EXPENSE);
+            rule.setPriority(i);
+            rules.add(rule);
+        }
+        matcher = CategoryMatcher.compile(rules);
+
+        // Three in four descriptions name a known merchant, the rest match nothing
+        descriptions = new String[DESCRIPTIONS];
+        for (int i = 0; i < DESCRIPTIONS; i++) {
+            String merchant = random.nextInt(4) == 0 ? "unknown shop" : merchant(random.nextInt(ruleCount));
+            descriptions[i] = "CARD PAYMENT " + merchant.toUpperCase(Locale.ROOT) + " " + random.nextInt(10000)
+                    + " LONDON GB";
+        }
+        amount = new BigDecimal("23.40");
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(matcher.categorize(description, amount, TransactionType.EXPENSE));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (String description : descriptions) {
+            String lower = description.toLowerCase(Locale.ROOT);
+            Category category = Category.OTHER_EXPENSE;
+            for (CategorizationRule rule : rules) {
+                if (lower.contains(rule.getPattern())) {
+                    category = rule.getCategory();
+                    break;
+                }
+            }
+            blackhole.consume(category);
+        }
+    }
+
+    @Benchmark
+    public CategoryMatcher compile() {
+        return CategoryMatcher.compile(rules);
+    }
+
+    // Distinct, merchant-like names with shared prefixes, like real rule sets
+    private static String merchant(int i) {
+        return "merchant" + Integer.toString(i, 36) + " store";
+    }
+}
@@ -0,0 +1,115 @@
+package com.rima.expenseflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.ImportReport;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importing IMPORTED_ROWS rows for a user who already has EXISTING_ROWS, with duplicate
+ * detection off (ALLOW) and on (SKIP), with and without the Bloom filter. overlap=false is
+ * a new month's statement; overlap=true re-imports rows that are all already stored. The
+ * user's filter is loaded before each invocation, as it would be after earlier imports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DuplicateImportBenchmark {
+
+    private static final int EXISTING_ROWS = 100_000;
+    private static final int IMPORTED_ROWS = 10_000;
+
+    @Param({"ALLOW", "SKIP"})
+    public DuplicatePolicy policy;
+
+    @Param({"true", "false"})
+    public boolean bloomFilter;
+
+    @Param({"false", "true"})
+    public boolean overlap;
+
+    private ConfigurableApplicationContext context;
+    private TransactionImportService importService;
+    private DuplicateDetector duplicateDetector;
+    private CacheManager cacheManager;
+    private JdbcTemplate jdbc;
+    private Long userId;
+    private long lastExistingId;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("duplicates" + policy + bloomFilter + overlap,
+                "expenseflow.duplicates.bloom-filter=" + bloomFilter);
+        importService = context.getBean(TransactionImportService.class);
+        duplicateDetector = context.getBean(DuplicateDetector.class);
+        cacheManager = context.getBean(CacheManager.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        List<User> users = Fixtures.users(1);
+        List<Transaction> existing = Fixtures.transactions(users, EXISTING_ROWS, YearMonth.of(2026, 1), 24, 11L);
+        Fixtures.insert(jdbc, users, existing);
+        userId = users.get(0).getId();
+        lastExistingId = jdbc.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+
+        List<Transaction> incoming = overlap
+                ? existing.subList(0, IMPORTED_ROWS)
+                : Fixtures.transactions(users, IMPORTED_ROWS, YearMonth.of(2026, 2), 1, 12L);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Transaction t : incoming) {
+            out.write(objectMapper.writeValueAsBytes(new TransactionRequest(t.getAmount(), t.getDescription(),
+                    t.getType(), t.getCategory(), t.getTransactionDate(), null)));
+            out.write('\n');
+        }
+        ndjson = out.toByteArray();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetImportedRows() {
+        jdbc.update("DELETE FROM transactions WHERE id > ?", lastExistingId);
+        jdbc.update("DELETE FROM monthly_rollups");
+        cacheManager.getCache(DuplicateDetector.FILTER_CACHE).clear();
+        duplicateDetector.findExisting(userId, List.of());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportReport importNdjson() throws IOException {
+        return importService.importJson(userId, new ByteArrayInputStream(ndjson), policy);
+    }
+}
@@ -0,0 +1,70 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.dto.ExportFormat;
+import com.rima.expenseflow.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-history export into a discarding stream. Run with -prof gc: gc.alloc.rate.norm
+ * divided by the row count should stay flat as rows grows, i.e. nothing is retained per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class ExportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"CSV", "NDJSON"})
+    public ExportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private TransactionExportService exportService;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("export" + rows + format);
+        exportService = context.getBean(TransactionExportService.class);
+
+        List<User> users = Fixtures.users(1);
+        Fixtures.insert(context.getBean(JdbcTemplate.class), users,
+                Fixtures.transactions(users, rows, YearMonth.of(2026, 2), 36, 5L));
+        userId = users.get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        return exportService.export(userId, format, false, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,91 @@
+package com.rima.expenseflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.ImportReport;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time of one bulk import of an NDJSON document into H2, end to end:
+ * parsing, validation, batched inserts and rollup deltas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionImportService importService;
+    private JdbcTemplate jdbc;
+    private Long userId;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("import" + rows);
+        importService = context.getBean(TransactionImportService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        List<User> users = Fixtures.users(1);
+        Fixtures.insert(jdbc, users, List.of());
+        userId = users.get(0).getId();
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Transaction t : Fixtures.transactions(users, rows, YearMonth.of(2026, 2), 24, 11L)) {
+            TransactionRequest request = new TransactionRequest(t.getAmount(), t.getDescription(),
+                    t.getType(), t.getCategory(), t.getTransactionDate(), null);
+            out.write(objectMapper.writeValueAsBytes(request));
+            out.write('\n');
+        }
+        ndjson = out.toByteArray();
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTables() {
+        jdbc.update("DELETE FROM monthly_rollups");
+        jdbc.update("DELETE FROM transactions");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportReport importNdjson() throws IOException {
+        return importService.importJson(userId, new ByteArrayInputStream(ndjson), DuplicatePolicy.ALLOW);
+    }
+}
@@ -0,0 +1,98 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.dto.RecurringRunResponse;
+import com.rima.expenseflow.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One nightly recurring run against H2: templates templates, one due occurrence each,
+ * spread over USERS users, among as many templates that are not due. Measures the
+ * whole loop of locked due-index batches, batched inserts, rollup deltas and schedule
+ * updates; divide by templates for the per-template cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class RecurringRunBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"10000", "100000"})
+    public int templates;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private RecurringTransactionScheduler scheduler;
+    private JdbcTemplate jdbc;
+    private final LocalDate today = LocalDate.of(2026, 3, 1);
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("recurring" + templates,
+                "expenseflow.recurring.batch-size=" + batchSize);
+        scheduler = context.getBean(RecurringTransactionScheduler.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        List<User> users = Fixtures.users(USERS);
+        Fixtures.insert(jdbc, users, List.of());
+
+        // Half due today, half due tomorrow, so the due-index scan has rows to skip past
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(2 * templates);
+        for (int i = 0; i < 2 * templates; i++) {
+            LocalDate start = i % 2 == 0 ? today : today.plusDays(1);
+            rows.add(new Object[]{users.get(i % USERS).getId(), "Subscription " + (i % 50),
+                    i % 2 == 0 ? "MONTHLY" : "WEEKLY", Date.valueOf(start), Date.valueOf(start), now, now});
+        }
+        jdbc.batchUpdate("INSERT INTO recurring_transactions (user_id, amount, description, type, category, "
+                + "frequency, repeat_interval, start_date, occurrence_index, next_run_date, created_at, updated_at) "
+                + "VALUES (?, 9.99, ?, 'EXPENSE', 'ENTERTAINMENT', ?, 1, ?, 0, ?, ?, ?)", rows);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetSchedules() {
+        jdbc.update("DELETE FROM monthly_rollups");
+        jdbc.update("DELETE FROM transactions");
+        jdbc.update("UPDATE recurring_transactions SET occurrence_index = 0, last_run_date = NULL, "
+                + "next_run_date = start_date");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecurringRunResponse nightlyRun() {
+        return scheduler.run(today);
+    }
+}
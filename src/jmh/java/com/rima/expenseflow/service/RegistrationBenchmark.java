@@ -0,0 +1,100 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.exception.DuplicateResourceException;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent registrations of fresh users: the previous check-then-insert (two exists
+ * queries and the insert in one transaction, password hashed inside it) against the
+ * single insert of UserService.createUser. BCrypt runs at strength 4 so that the
+ * database work is not lost in hashing time; roundTripMicros is added to every
+ * statement to stand in for the network hop to Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private TransactionTemplate transaction;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("registration" + roundTripMicros, roundTripMicros,
+                "expenseflow.security.bcrypt.strength=4",
+                "expenseflow.security.bcrypt.queue-capacity=1000",
+                "expenseflow.metrics.n-plus-one=OFF");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User checkThenInsert() {
+        User user = nextUser();
+        return transaction.execute(status -> {
+            if (userRepository.existsByUsername(user.getUsername())) {
+                throw new DuplicateResourceException("User", "username", user.getUsername());
+            }
+            if (userRepository.existsByEmail(user.getEmail())) {
+                throw new DuplicateResourceException("User", "email", user.getEmail());
+            }
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            return userRepository.save(user);
+        });
+    }
+
+    @Benchmark
+    public User singleInsert() {
+        return userService.createUser(nextUser());
+    }
+
+    private User nextUser() {
+        long n = sequence.incrementAndGet();
+        User user = new User();
+        user.setUsername("bench_reg_" + n);
+        user.setEmail("bench_reg_" + n + "@example.com");
+        user.setPassword("password123");
+        user.setRole("ROLE_USER");
+        return user;
+    }
+}
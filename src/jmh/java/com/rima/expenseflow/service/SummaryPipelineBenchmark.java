@@ -0,0 +1,97 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.benchmark.LegacySummary;
+import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.dto.TransactionResponse;
+import com.rima.expenseflow.model.MonthlyRollup;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.enums.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the in-memory halves of the transaction endpoints, with no database:
+ * entity to DTO mapping, the original four-pass summary streams, and the current fold
+ * over pre-aggregated (type, category) buckets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryPipelineBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 2);
+
+    @Param({"100", "10000", "100000"})
+    public int transactionsInMonth;
+
+    private TransactionService service;
+    private List<Transaction> transactions;
+    private List<MonthlyRollup> buckets;
+
+    @Setup
+    public void setUp() {
+        // Repositories are never reached by the methods measured here
+        service = new TransactionService(null, null, null, null, null, null);
+        transactions = Fixtures.transactions(Fixtures.users(1), transactionsInMonth, MONTH, 1, 42L);
+        buckets = bucket(transactions);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> mapToResponse() {
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            responses.add(service.mapToResponse(transaction));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse legacyEntityStreams() {
+        return LegacySummary.fold(MONTH, transactions);
+    }
+
+    // Grouping done in Java, then the production fold: the cost the GROUP BY query moves to the database
+    @Benchmark
+    public MonthlySummaryResponse groupThenFold() {
+        return service.buildSummary(MONTH, bucket(transactions));
+    }
+
+    // What the rollup-backed summary does after its single indexed read
+    @Benchmark
+    public MonthlySummaryResponse foldBuckets() {
+        return service.buildSummary(MONTH, buckets);
+    }
+
+    private static List<MonthlyRollup> bucket(List<Transaction> transactions) {
+        // Each category belongs to exactly one type, so the category alone identifies a bucket
+        Map<Category, MonthlyRollup> byCategory = new EnumMap<>(Category.class);
+        for (Transaction t : transactions) {
+            MonthlyRollup bucket = byCategory.computeIfAbsent(t.getCategory(), category -> new MonthlyRollup(
+                    null, 1L, MONTH.atDay(1), t.getType(), category, BigDecimal.ZERO, 0L));
+            bucket.setTotal(bucket.getTotal().add(t.getAmount()));
+            bucket.setCount(bucket.getCount() + 1);
+        }
+        return new ArrayList<>(byCategory.values());
+    }
+}
@@ -0,0 +1,88 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.benchmark.LegacySummary;
+import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end monthly summary against H2: load every entity and stream (the original
+ * implementation), one GROUP BY query, and the maintained rollup rows. Absolute numbers
+ * are H2's; the ratios between the three are what carries over to Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryQueryBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 2);
+
+    @Param({"100", "10000", "100000"})
+    public int transactionsInMonth;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionService transactionService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("summary" + transactionsInMonth);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionService = context.getBean(TransactionService.class);
+
+        // A second user's rows share the table so the queries have something to skip
+        List<User> users = Fixtures.users(2);
+        Fixtures.insert(context.getBean(JdbcTemplate.class), users,
+                Fixtures.transactions(users, transactionsInMonth, MONTH, 1, 7L));
+
+        user = context.getBean(UserRepository.class).findById(users.get(0).getId()).orElseThrow();
+        context.getBean(RollupService.class).rebuild(user.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse loadEntitiesAndStream() {
+        return LegacySummary.fold(MONTH, transactionRepository.findByUserAndTransactionDateBetween(
+                user, MONTH.atDay(1), MONTH.atEndOfMonth()));
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse groupByQuery() {
+        return transactionService.buildSummary(MONTH, transactionRepository.summarizeByTypeAndCategory(
+                user.getId(), MONTH.atDay(1), MONTH.atEndOfMonth()));
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse rollups() {
+        return transactionService.getMonthlySummary(user.getId(), MONTH);
+    }
+}
@@ -0,0 +1,149 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.benchmark.BenchmarkContext;
+import com.rima.expenseflow.benchmark.Fixtures;
+import com.rima.expenseflow.dto.TransactionFilter;
+import com.rima.expenseflow.dto.TransactionResponse;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of a listing filtered by type, category, a three-month date range and an
+ * amount range. fetchThenNull is the original approach: fetch the user's page by type and
+ * null out the rows the other filters reject in memory. specification is the single
+ * statement getTransactions runs now.
+ *
+ * Fill rate is matchedRows / pageSlots from the aux counters: the share of each returned
+ * page that holds a matching row. The specification path fills every page it can;
+ * fetchThenNull returns mostly nulls under a selective filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionFilterBenchmark {
+
+    private static final YearMonth LAST_MONTH = YearMonth.of(2026, 12);
+    private static final Pageable PAGE = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "transactionDate"));
+
+    @Param({"10000", "100000"})
+    public int transactionsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private UserRepository userRepository;
+    private TransactionService transactionService;
+    private TransactionTemplate readOnly;
+    private TransactionFilter filter;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("filter" + transactionsPerUser);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionService = context.getBean(TransactionService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<User> users = Fixtures.users(2);
+        Fixtures.insert(context.getBean(JdbcTemplate.class), users,
+                Fixtures.transactions(users, transactionsPerUser, LAST_MONTH, 12, 11L));
+        userId = users.get(0).getId();
+
+        filter = TransactionFilter.builder()
+                .type(TransactionType.EXPENSE)
+                .category(Category.FOOD)
+                .from(LocalDate.of(2026, 4, 1))
+                .to(LocalDate.of(2026, 6, 30))
+                .minAmount(new BigDecimal("10.00"))
+                .maxAmount(new BigDecimal("100.00"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FillRate {
+
+        public long matchedRows;
+        public long pageSlots;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            matchedRows = 0;
+            pageSlots = 0;
+        }
+
+        void record(Page<TransactionResponse> page) {
+            matchedRows += page.getContent().stream().filter(Objects::nonNull).count();
+            pageSlots += page.getSize();
+        }
+    }
+
+    @Benchmark
+    public Page<TransactionResponse> fetchThenNull(FillRate fillRate) {
+        Page<TransactionResponse> page = readOnly.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            return transactionRepository.findByUserAndType(user, filter.getType(), PAGE)
+                    .map(t -> matches(t) ? transactionService.mapToResponse(t) : null);
+        });
+        fillRate.record(page);
+        return page;
+    }
+
+    @Benchmark
+    public Page<TransactionResponse> specification(FillRate fillRate) {
+        Page<TransactionResponse> page = transactionService.getTransactions(userId, filter, PAGE);
+        fillRate.record(page);
+        return page;
+    }
+
+    // The filters the original query left to memory
+    private boolean matches(Transaction t) {
+        return t.getCategory() == filter.getCategory()
+                && !t.getTransactionDate().isBefore(filter.getFrom())
+                && !t.getTransactionDate().isAfter(filter.getTo())
+                && t.getAmount().compareTo(filter.getMinAmount()) >= 0
+                && t.getAmount().compareTo(filter.getMaxAmount()) <= 0;
+    }
+}
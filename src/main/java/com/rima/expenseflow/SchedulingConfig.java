@@ -0,0 +1,15 @@
+package com.rima.expenseflow;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs every @Scheduled job of the application: the nightly recurring transaction run
+ * (RecurringTransactionScheduler) and the token revocation sync and purge
+ * (TokenRevocationList). Kept apart from the jobs so that none of them depends on
+ * another being present.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,49 @@
+package com.rima.expenseflow.controller;
+
+import com.rima.expenseflow.dto.FingerprintBackfillResponse;
+import com.rima.expenseflow.dto.RecurringRunResponse;
+import com.rima.expenseflow.dto.RollupVerificationResponse;
+import com.rima.expenseflow.service.DuplicateDetector;
+import com.rima.expenseflow.service.RecurringTransactionScheduler;
+import com.rima.expenseflow.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final RollupService rollupService;
+    private final DuplicateDetector duplicateDetector;
+    private final RecurringTransactionScheduler recurringScheduler;
+
+    @GetMapping("/rollups/{userId}/verify")
+    public ResponseEntity<RollupVerificationResponse> verifyRollups(@PathVariable Long userId) {
+        return ResponseEntity.ok(rollupService.verify(userId));
+    }
+
+    @PostMapping("/rollups/{userId}/rebuild")
+    public ResponseEntity<RollupVerificationResponse> rebuildRollups(@PathVariable Long userId) {
+        return ResponseEntity.ok(rollupService.rebuild(userId));
+    }
+
+    // Fingerprint rows stored before duplicate detection existed
+    @PostMapping("/fingerprints/{userId}/backfill")
+    public ResponseEntity<FingerprintBackfillResponse> backfillFingerprints(@PathVariable Long userId) {
+        int updated = duplicateDetector.backfill(userId);
+        return ResponseEntity.ok(new FingerprintBackfillResponse(userId, updated));
+    }
+
+    // Run the nightly recurring materialization now, e.g. after downtime; already-created
+    // occurrences are not repeated
+    @PostMapping("/recurring/run")
+    public ResponseEntity<RecurringRunResponse> runRecurring() {
+        return ResponseEntity.ok(recurringScheduler.run(LocalDate.now()));
+    }
+}
@@ -2,9 +2,14 @@ package com.rima.expenseflow.controller;
 
 import com.rima.expenseflow.dto.AuthRequest;
 import com.rima.expenseflow.dto.AuthResponse;
+import com.rima.expenseflow.dto.AvailabilityResponse;
+import com.rima.expenseflow.dto.RefreshRequest;
 import com.rima.expenseflow.dto.RegisterRequest;
+import com.rima.expenseflow.exception.BadRequestException;
 import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.service.AuthService;
+import com.rima.expenseflow.service.UserAvailability;
+import com.rima.expenseflow.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -19,6 +24,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final UserService userService;
+    private final UserAvailability userAvailability;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -32,10 +39,32 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Sign-up form hint; registration itself is decided by the database
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new BadRequestException("username or email is required");
+        }
+        return ResponseEntity.ok(userAvailability.check(username, email));
+    }
+
     @GetMapping("/me")
     public ResponseEntity<User> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        // Cast UserDetails to User (since our User implements UserDetails)
-        User user = (User) userDetails;
+        // The principal may be built from token claims only, so load the full profile
+        User user = userService.getUserByUsername(userDetails.getUsername());
         return ResponseEntity.ok(user);
     }
 }
\ No newline at end of file
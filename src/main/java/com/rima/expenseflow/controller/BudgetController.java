@@ -0,0 +1,52 @@
+package com.rima.expenseflow.controller;
+
+import com.rima.expenseflow.dto.BudgetRequest;
+import com.rima.expenseflow.dto.BudgetStatus;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.security.AuthenticatedUser;
+import com.rima.expenseflow.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    // Served from in-memory counters; polled by the mobile client
+    @GetMapping
+    public ResponseEntity<List<BudgetStatus>> getBudgets(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM")
+            YearMonth month) {
+
+        YearMonth targetMonth = (month != null) ? month : YearMonth.now();
+        return ResponseEntity.ok(budgetService.getStatuses(currentUser.id(), targetMonth));
+    }
+
+    @PutMapping("/{category}")
+    public ResponseEntity<BudgetStatus> setBudget(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable Category category,
+            @Valid @RequestBody BudgetRequest request) {
+        return ResponseEntity.ok(budgetService.setBudget(currentUser.id(), category, request));
+    }
+
+    @DeleteMapping("/{category}")
+    public ResponseEntity<Void> deleteBudget(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable Category category) {
+        budgetService.deleteBudget(currentUser.id(), category);
+        return ResponseEntity.noContent().build();
+    }
+}
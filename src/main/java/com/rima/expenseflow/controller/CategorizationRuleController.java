@@ -0,0 +1,53 @@
+package com.rima.expenseflow.controller;
+
+import com.rima.expenseflow.dto.CategorizationRuleRequest;
+import com.rima.expenseflow.dto.CategorizationRuleResponse;
+import com.rima.expenseflow.security.AuthenticatedUser;
+import com.rima.expenseflow.service.CategorizationRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categorization-rules")
+@RequiredArgsConstructor
+public class CategorizationRuleController {
+
+    private final CategorizationRuleService ruleService;
+
+    // In evaluation order
+    @GetMapping
+    public ResponseEntity<List<CategorizationRuleResponse>> getRules(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(ruleService.getRules(currentUser.id()));
+    }
+
+    @PostMapping
+    public ResponseEntity<CategorizationRuleResponse> createRule(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @Valid @RequestBody CategorizationRuleRequest request) {
+        CategorizationRuleResponse created = ruleService.createRule(currentUser.id(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PutMapping("/{ruleId}")
+    public ResponseEntity<CategorizationRuleResponse> updateRule(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable Long ruleId,
+            @Valid @RequestBody CategorizationRuleRequest request) {
+        return ResponseEntity.ok(ruleService.updateRule(currentUser.id(), ruleId, request));
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable Long ruleId) {
+        ruleService.deleteRule(currentUser.id(), ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
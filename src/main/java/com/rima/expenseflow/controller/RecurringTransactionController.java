@@ -0,0 +1,52 @@
+package com.rima.expenseflow.controller;
+
+import com.rima.expenseflow.dto.RecurringTransactionRequest;
+import com.rima.expenseflow.dto.RecurringTransactionResponse;
+import com.rima.expenseflow.security.AuthenticatedUser;
+import com.rima.expenseflow.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringService;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionResponse>> getTemplates(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(recurringService.getTemplates(currentUser.id()));
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionResponse> createTemplate(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @Valid @RequestBody RecurringTransactionRequest request) {
+        RecurringTransactionResponse created = recurringService.createTemplate(currentUser.id(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PutMapping("/{templateId}")
+    public ResponseEntity<RecurringTransactionResponse> updateTemplate(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable Long templateId,
+            @Valid @RequestBody RecurringTransactionRequest request) {
+        return ResponseEntity.ok(recurringService.updateTemplate(currentUser.id(), templateId, request));
+    }
+
+    @DeleteMapping("/{templateId}")
+    public ResponseEntity<Void> deleteTemplate(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @PathVariable Long templateId) {
+        recurringService.deleteTemplate(currentUser.id(), templateId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,12 +1,24 @@
 package com.rima.expenseflow.controller;
 
+import com.rima.expenseflow.dto.BalanceResponse;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.ExportFormat;
+import com.rima.expenseflow.dto.ImportReport;
 import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.dto.StatementImportOptions;
+import com.rima.expenseflow.dto.TransactionFilter;
 import com.rima.expenseflow.dto.TransactionRequest;
 import com.rima.expenseflow.dto.TransactionResponse;
-import com.rima.expenseflow.model.User;
-import com.rima.expenseflow.model.enums.Category;
-import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.dto.TransactionScrollResponse;
+import com.rima.expenseflow.dto.TrendGranularity;
+import com.rima.expenseflow.dto.TrendResponse;
+import com.rima.expenseflow.security.AuthenticatedUser;
+import com.rima.expenseflow.service.BalanceService;
+import com.rima.expenseflow.service.StatementImportService;
+import com.rima.expenseflow.service.TransactionExportService;
+import com.rima.expenseflow.service.TransactionImportService;
 import com.rima.expenseflow.service.TransactionService;
+import com.rima.expenseflow.service.TrendService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -14,11 +26,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.YearMonth;
 
 @RestController
@@ -26,22 +45,56 @@ import java.time.YearMonth;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final StatementImportService statementImportService;
+    private final TrendService trendService;
+    private final BalanceService balanceService;
 
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(
-            @AuthenticationPrincipal User currentUser,  // Get from JWT
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            @RequestParam(defaultValue = "ALLOW") DuplicatePolicy duplicates,  // SKIP answers 409
             @Valid @RequestBody TransactionRequest request) {
 
-        TransactionResponse created = transactionService.createTransaction(currentUser.getId(), request);
+        TransactionResponse created = transactionService
+                .createTransaction(currentUser.id(), request, duplicates);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Body is a JSON array or NDJSON of TransactionRequest, read as a stream
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReport> importTransactions(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            @RequestParam(defaultValue = "ALLOW") DuplicatePolicy duplicates,
+            InputStream body) throws IOException {
+
+        ImportReport report = transactionImportService.importJson(currentUser.id(), body, duplicates);
+        return ResponseEntity.ok(report);
+    }
+
+    // Bank statement CSV; column mapping and sign convention come from query parameters
+    @PostMapping(value = "/statements", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportReport> importStatement(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            StatementImportOptions options,  // dateColumn, amountColumn, dateFormat, sign, delimiter, ...
+            @RequestParam(defaultValue = "ALLOW") DuplicatePolicy duplicates,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, defaultValue = "-1") long contentLength,
+            InputStream body) {
+
+        ImportReport report = statementImportService
+                .importCsv(currentUser.id(), options, duplicates, body, contentLength);
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping
     public ResponseEntity<Page<TransactionResponse>> getTransactions(
-            @AuthenticationPrincipal User currentUser,  // Get from JWT
-            @RequestParam(required = false) TransactionType type,
-            @RequestParam(required = false) Category category,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            TransactionFilter filter,  // type, category, from, to, minAmount, maxAmount, search
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "transactionDate") String sortBy,
@@ -49,44 +102,96 @@ public class TransactionController {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         Page<TransactionResponse> transactions = transactionService
-                .getTransactions(currentUser.getId(), type, category, pageable);
+                .getTransactions(currentUser.id(), filter, pageable);
 
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<TransactionScrollResponse> scrollTransactions(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            TransactionFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        int boundedSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        TransactionScrollResponse window = transactionService
+                .scrollTransactions(currentUser.id(), filter, cursor, boundedSize);
+
+        return ResponseEntity.ok(window);
+    }
+
+    // Full history as a download, written while rows are read; gzip=true compresses it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        Long userId = currentUser.id();
+        String filename = "transactions." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> transactionExportService.export(userId, format, gzip, out);
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // Income, expense and per-category series, one point per day, week or month
+    @GetMapping("/trends")
+    public ResponseEntity<TrendResponse> getTrends(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
+            @RequestParam(defaultValue = "MONTH") TrendGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        TrendResponse trends = trendService.getTrends(currentUser.id(), granularity, from, to);
+        return ResponseEntity.ok(trends);
+    }
+
+    // All-time, year-to-date and per-year totals; closed years come from snapshots
+    @GetMapping("/balance")
+    public ResponseEntity<BalanceResponse> getBalance(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {  // Get from JWT
+
+        return ResponseEntity.ok(balanceService.getBalance(currentUser.id()));
+    }
+
     @GetMapping("/{transactionId}")
     public ResponseEntity<TransactionResponse> getTransactionById(
-            @AuthenticationPrincipal User currentUser,  // Get from JWT
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
             @PathVariable Long transactionId) {
 
         TransactionResponse transaction = transactionService
-                .getTransactionById(currentUser.getId(), transactionId);
+                .getTransactionById(currentUser.id(), transactionId);
         return ResponseEntity.ok(transaction);
     }
 
     @PutMapping("/{transactionId}")
     public ResponseEntity<TransactionResponse> updateTransaction(
-            @AuthenticationPrincipal User currentUser,  // Get from JWT
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
             @PathVariable Long transactionId,
             @Valid @RequestBody TransactionRequest request) {
 
         TransactionResponse updated = transactionService
-                .updateTransaction(currentUser.getId(), transactionId, request);
+                .updateTransaction(currentUser.id(), transactionId, request);
         return ResponseEntity.ok(updated);
     }
 
     @DeleteMapping("/{transactionId}")
     public ResponseEntity<Void> deleteTransaction(
-            @AuthenticationPrincipal User currentUser,  // Get from JWT
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
             @PathVariable Long transactionId) {
 
-        transactionService.deleteTransaction(currentUser.getId(), transactionId);
+        transactionService.deleteTransaction(currentUser.id(), transactionId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/summary")
     public ResponseEntity<MonthlySummaryResponse> getMonthlySummary(
-            @AuthenticationPrincipal User currentUser,  // Get from JWT
+            @AuthenticationPrincipal AuthenticatedUser currentUser,  // Get from JWT
             @RequestParam(required = false)
             @DateTimeFormat(pattern = "yyyy-MM")
             YearMonth month) {
@@ -94,7 +199,7 @@ public class TransactionController {
         YearMonth targetMonth = (month != null) ? month : YearMonth.now();
 
         MonthlySummaryResponse summary = transactionService
-                .getMonthlySummary(currentUser.getId(), targetMonth);
+                .getMonthlySummary(currentUser.id(), targetMonth);
         return ResponseEntity.ok(summary);
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.rima.expenseflow.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * With spring.threads.virtual.enabled=true every request runs on its own virtual thread,
+ * so the DataSource is wrapped in a ConnectionBulkhead sized to the pool (or to
+ * expenseflow.datasource.bulkhead.permits). Platform threads are already bounded by
+ * Tomcat's pool and are left alone.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionBulkheadPostProcessor(
+            @Value("${expenseflow.datasource.bulkhead.permits:0}") int permits,
+            @Value("${expenseflow.datasource.bulkhead.acquire-timeout:5s}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionBulkhead) {
+                    return bean;
+                }
+                ConnectionBulkhead bulkhead = new ConnectionBulkhead(dataSource,
+                        permits > 0 ? permits : poolSize(dataSource), acquireTimeout);
+                registry.ifAvailable(meters -> {
+                    Gauge.builder("expenseflow.datasource.bulkhead.waiting", bulkhead, ConnectionBulkhead::getQueueLength)
+                            .description("Threads waiting for a connection permit")
+                            .register(meters);
+                    Gauge.builder("expenseflow.datasource.bulkhead.available", bulkhead,
+                                    ConnectionBulkhead::getAvailablePermits)
+                            .description("Connection permits not in use")
+                            .register(meters);
+                });
+                return bulkhead;
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        HikariConfigMXBean hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        return hikari != null ? hikari.getMaximumPoolSize() : 10;
+    }
+}
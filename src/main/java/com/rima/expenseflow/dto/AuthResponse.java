@@ -13,6 +13,9 @@ public class AuthResponse {
 
     private String token;
     private String type = "Bearer";
+    // Seconds until token expires; refreshToken gets a new pair from /api/auth/refresh
+    private long expiresIn;
+    private String refreshToken;
     private Long id;
     private String username;
     private String email;
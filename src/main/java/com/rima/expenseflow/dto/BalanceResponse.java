@@ -0,0 +1,23 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceResponse {
+
+    private LocalDate asOf;
+    private BalanceTotals allTime;
+    // January up to and including the current month
+    private BalanceTotals yearToDate;
+    // Every year with transactions, oldest first
+    private List<BalanceTotals> years;
+}
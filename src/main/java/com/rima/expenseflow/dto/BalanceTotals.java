@@ -0,0 +1,25 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceTotals {
+
+    // Calendar year, or null for all-time totals
+    private Integer year;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpenses;
+    private BigDecimal netBalance;
+    private Map<String, BigDecimal> expensesByCategory;
+    private Map<String, BigDecimal> incomeByCategory;
+    private long totalTransactions;
+}
@@ -0,0 +1,21 @@
+package com.rima.expenseflow.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRequest {
+
+    @NotNull(message = "Monthly limit is required")
+    @DecimalMin(value = "0.01", message = "Monthly limit must be greater than 0")
+    @Digits(integer = 10, fraction = 2, message = "Monthly limit must have at most 2 decimal places")
+    private BigDecimal monthlyLimit;
+}
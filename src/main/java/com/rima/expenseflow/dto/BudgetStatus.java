@@ -0,0 +1,25 @@
+package com.rima.expenseflow.dto;
+
+import com.rima.expenseflow.model.enums.Category;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatus {
+
+    private Category category;
+    private YearMonth month;
+    private BigDecimal monthlyLimit;
+    private BigDecimal spent;
+    // Negative once overspent
+    private BigDecimal remaining;
+    private boolean overspent;
+}
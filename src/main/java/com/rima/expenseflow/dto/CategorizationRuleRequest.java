@@ -0,0 +1,37 @@
+package com.rima.expenseflow.dto;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRuleRequest {
+
+    @NotBlank(message = "Pattern is required")
+    @Size(max = 200, message = "Pattern must not exceed 200 characters")
+    private String pattern;
+
+    private RuleMatchType matchType = RuleMatchType.CONTAINS;
+
+    private TransactionType type; // Optional; must agree with the category when given
+
+    @NotNull(message = "Category is required")
+    private Category category;
+
+    @DecimalMin(value = "0.00", message = "Minimum amount must not be negative")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0.00", message = "Maximum amount must not be negative")
+    private BigDecimal maxAmount;
+
+    @Min(value = 0, message = "Priority must not be negative")
+    private int priority;
+}
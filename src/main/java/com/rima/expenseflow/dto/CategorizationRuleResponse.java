@@ -0,0 +1,28 @@
+package com.rima.expenseflow.dto;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRuleResponse {
+
+    private Long id;
+    private String pattern;
+    private RuleMatchType matchType;
+    private TransactionType type;
+    private Category category;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private int priority;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
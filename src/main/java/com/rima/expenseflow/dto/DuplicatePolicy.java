@@ -0,0 +1,10 @@
+package com.rima.expenseflow.dto;
+
+/**
+ * What to do with an incoming transaction whose fingerprint the user already has.
+ */
+public enum DuplicatePolicy {
+    ALLOW,  // Store it without checking
+    FLAG,   // Store it with possibleDuplicate set
+    SKIP    // Do not store it
+}
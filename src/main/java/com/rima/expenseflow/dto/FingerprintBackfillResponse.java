@@ -0,0 +1,16 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FingerprintBackfillResponse {
+
+    private Long userId;
+    private int transactionsUpdated;
+}
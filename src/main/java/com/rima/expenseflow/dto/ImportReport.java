@@ -0,0 +1,22 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReport {
+
+    private int received;
+    private int imported;
+    private int rejected;
+    private int duplicates; // Skipped or flagged, depending on the DuplicatePolicy
+    private List<ImportRowResult> rows;
+    private boolean rowsTruncated; // Some rejected rows were left out of rows
+}
@@ -0,0 +1,39 @@
+package com.rima.expenseflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowResult {
+
+    public enum Status {
+        IMPORTED,
+        REJECTED,
+        DUPLICATE  // Skipped under DuplicatePolicy.SKIP
+    }
+
+    private int row;           // 1-based position in the uploaded document
+    private Status status;
+    private Long id;           // Set when imported
+    private List<String> errors; // Set when rejected
+    private Boolean possibleDuplicate; // Set when imported under DuplicatePolicy.FLAG as a duplicate
+
+    public static ImportRowResult imported(int row, Long id, boolean possibleDuplicate) {
+        return new ImportRowResult(row, Status.IMPORTED, id, null, possibleDuplicate ? Boolean.TRUE : null);
+    }
+
+    public static ImportRowResult rejected(int row, List<String> errors) {
+        return new ImportRowResult(row, Status.REJECTED, null, errors, null);
+    }
+
+    public static ImportRowResult duplicate(int row) {
+        return new ImportRowResult(row, Status.DUPLICATE, null, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringRunResponse {
+
+    private LocalDate runDate;
+    private long templates;
+    private long transactionsCreated;
+    private int batches;
+    private long durationMillis;
+}
@@ -0,0 +1,47 @@
+package com.rima.expenseflow.dto;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RecurrenceFrequency;
+import com.rima.expenseflow.model.enums.TransactionType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionRequest {
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 10, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Description is required")
+    @Size(max = 200, message = "Description must not exceed 200 characters")
+    private String description;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    private Category category; // Optional; the user's categorization rules pick one at each occurrence
+
+    @Size(max = 500, message = "Notes must not exceed 500 characters")
+    private String notes;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 366, message = "Interval must not exceed 366")
+    private int interval = 1;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate endDate; // Optional, inclusive
+}
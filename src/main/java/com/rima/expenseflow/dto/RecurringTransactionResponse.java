@@ -0,0 +1,36 @@
+package com.rima.expenseflow.dto;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RecurrenceFrequency;
+import com.rima.expenseflow.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringTransactionResponse {
+
+    private Long id;
+    private BigDecimal amount;
+    private String description;
+    private TransactionType type;
+    private Category category;
+    private String notes;
+    private RecurrenceFrequency frequency;
+    private int interval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    // Null once the schedule has ended
+    private LocalDate nextRunDate;
+    private LocalDate lastRunDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.rima.expenseflow.dto;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupDrift {
+
+    private YearMonth month;
+    private TransactionType type;
+    private Category category;
+    private BigDecimal expectedTotal;
+    private BigDecimal actualTotal;
+    private long expectedCount;
+    private long actualCount;
+}
@@ -0,0 +1,20 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupVerificationResponse {
+
+    private Long userId;
+    private int bucketsChecked;
+    private boolean consistent;
+    private List<RollupDrift> drifts;
+}
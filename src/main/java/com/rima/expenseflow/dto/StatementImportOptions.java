@@ -0,0 +1,35 @@
+package com.rima.expenseflow.dto;
+
+import lombok.Data;
+
+/**
+ * How to read an uploaded bank statement, bound from query parameters. Columns are given
+ * by header name (case-insensitive) or by 0-based index. A statement either has one signed
+ * amount column, or separate debit and credit columns holding unsigned amounts.
+ */
+@Data
+public class StatementImportOptions {
+
+    private String dateColumn = "date";
+    private String amountColumn = "amount";
+    private String descriptionColumn = "description";
+    private String debitColumn;  // When set together with creditColumn, amountColumn is ignored
+    private String creditColumn;
+
+    private String dateFormat = "yyyy-MM-dd";  // java.time pattern, e.g. dd/MM/yyyy
+    private SignConvention sign = SignConvention.NEGATIVE_IS_EXPENSE;
+    private boolean decimalComma;  // 1.234,56 instead of 1,234.56
+
+    private char delimiter = ',';
+    private boolean header = true;
+    private int skipLines;  // Preamble lines before the header (account name, period, ...)
+
+    public boolean hasDebitCreditColumns() {
+        return debitColumn != null && creditColumn != null;
+    }
+
+    public enum SignConvention {
+        NEGATIVE_IS_EXPENSE,  // Current accounts: money out is negative
+        POSITIVE_IS_EXPENSE   // Card statements: charges are positive
+    }
+}
@@ -0,0 +1,27 @@
+package com.rima.expenseflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Flat row selected straight into a DTO for exports; never a managed entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"id", "transactionDate", "type", "category", "amount", "description", "notes"})
+public class TransactionExportRow {
+
+    private Long id;
+    private LocalDate transactionDate;
+    private TransactionType type;
+    private Category category;
+    private BigDecimal amount;
+    private String description;
+    private String notes;
+}
@@ -26,8 +26,7 @@ public class TransactionRequest {
     @NotNull(message = "Transaction type is required")
     private TransactionType type;
 
-    @NotNull(message = "Category is required")
-    private Category category;
+    private Category category; // Optional; the user's categorization rules pick one when absent
 
     @NotNull(message = "Transaction date is required")
     private LocalDate transactionDate;
@@ -1,5 +1,6 @@
 package com.rima.expenseflow.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.rima.expenseflow.model.enums.Category;
 import com.rima.expenseflow.model.enums.TransactionType;
 import lombok.AllArgsConstructor;
@@ -22,6 +23,10 @@ public class TransactionResponse {
     private Category category;
     private LocalDate transactionDate;
     private String notes;
+    private boolean possibleDuplicate;
+    // Set on create and update when the category has a budget
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BudgetStatus budget;
     private Long userId;
     private String username;
     private LocalDateTime createdAt;
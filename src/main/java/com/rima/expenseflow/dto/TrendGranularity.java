@@ -0,0 +1,39 @@
+package com.rima.expenseflow.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size of a trend series. Weeks start on Monday, as date_trunc('week') does.
+ */
+public enum TrendGranularity {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    TrendGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    // First day of the bucket containing date
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate periodStart) {
+        return periodStart.plus(1, unit);
+    }
+
+    // Number of buckets covering from..to, both inclusive
+    public long buckets(LocalDate from, LocalDate to) {
+        return unit.between(truncate(from), truncate(to)) + 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.rima.expenseflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private TrendGranularity granularity;
+    // One point per bucket, oldest first; buckets without transactions are zero
+    private List<TrendPoint> points;
+}
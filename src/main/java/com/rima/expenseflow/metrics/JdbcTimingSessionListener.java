@@ -0,0 +1,45 @@
+package com.rima.expenseflow.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time of each JDBC execute (single statements and batches) to the current
+ * request. Hibernate creates one per session from its class name, so it needs a public
+ * no-argument constructor.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private static void started() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.executeStarted();
+        }
+    }
+
+    private static void ended() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.executeEnded();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rima.expenseflow.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every SQL string Hibernate prepares and counts it against the current request.
+ * An inspector configured through hibernate.session_factory.statement_inspector still
+ * runs first, and the statement it returns is the one counted.
+ */
+class QueryCountingStatementInspector implements StatementInspector {
+
+    private final StatementInspector delegate;
+
+    QueryCountingStatementInspector(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String inspected = delegate != null ? delegate.inspect(sql) : sql;
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statement(inspected);
+        }
+        return inspected;
+    }
+}
@@ -0,0 +1,57 @@
+package com.rima.expenseflow.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wires the per-request SQL accounting into Hibernate and the servlet filter chain.
+ * Hibernate's own statistics and the HikariCP pool meters are bound by Spring Boot
+ * (hibernate-micrometer on the classpath, hibernate.generate_statistics=true).
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateProperties() {
+        return properties -> {
+            StatementInspector configured = configuredInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector(configured));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+        };
+    }
+
+    // The setting accepts an instance, a class or a class name
+    private static StatementInspector configuredInspector(Object setting) {
+        if (setting instanceof StatementInspector inspector) {
+            return inspector;
+        }
+        if (setting instanceof Class<?> type) {
+            return (StatementInspector) BeanUtils.instantiateClass(type);
+        }
+        if (setting instanceof String name && !name.isBlank()) {
+            return (StatementInspector) BeanUtils.instantiateClass(ClassUtils.resolveClassName(name.trim(), null));
+        }
+        return null;
+    }
+
+    // Ahead of Spring Security, so the user lookup of JWT authentication is counted too
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(
+            MeterRegistry registry,
+            @Value("${expenseflow.metrics.n-plus-one:LOG}") QueryMetricsFilter.Mode mode,
+            @Value("${expenseflow.metrics.n-plus-one-threshold:5}") int threshold) {
+        FilterRegistrationBean<QueryMetricsFilter> registration =
+                new FilterRegistrationBean<>(new QueryMetricsFilter(registry, mode, threshold));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
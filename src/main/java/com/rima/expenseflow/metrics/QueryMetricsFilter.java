@@ -0,0 +1,105 @@
+package com.rima.expenseflow.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database cost per endpoint. Each request collects a QueryStats; when it completes, the
+ * statement count and JDBC time are recorded as expenseflow.db.statements and
+ * expenseflow.db.time, tagged with the method and matched URI pattern like Spring's own
+ * http.server.requests.
+ *
+ * A SELECT that runs threshold or more times within one request is reported as a likely
+ * N+1 (expenseflow.db.repeated.selects, plus a log line or, in FAIL mode, an exception so
+ * the test that triggered it fails).
+ */
+@Slf4j
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    public enum Mode { OFF, LOG, FAIL }
+
+    private final MeterRegistry registry;
+    private final Mode mode;
+    private final int threshold;
+
+    public QueryMetricsFilter(MeterRegistry registry, Mode mode, int threshold) {
+        this.registry = registry;
+        this.mode = mode;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+            record(request, stats);
+        }
+        // Only once the request itself succeeded, so its own exception is never masked
+        checkRepeatedSelects(request, stats);
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Tags tags = tags(request);
+        DistributionSummary.builder("expenseflow.db.statements")
+                .description("SQL statements issued by one request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.getStatements());
+        Timer.builder("expenseflow.db.time")
+                .description("Time one request spent in JDBC executes")
+                .tags(tags)
+                .register(registry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkRepeatedSelects(HttpServletRequest request, QueryStats stats) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Map<String, Integer> repeated = stats.repeatedSelects(threshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        registry.counter("expenseflow.db.repeated.selects", tags(request)).increment();
+
+        Map.Entry<String, Integer> worst = repeated.entrySet().iterator().next();
+        String message = "Possible N+1 in " + request.getMethod() + " " + uri(request) + ": "
+                + worst.getValue() + "x " + worst.getKey()
+                + (repeated.size() > 1 ? " (and " + (repeated.size() - 1) + " more repeated selects)" : "");
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private static Tags tags(HttpServletRequest request) {
+        return Tags.of("method", request.getMethod(), "uri", uri(request));
+    }
+
+    // The handler's pattern keeps path variables from multiplying the series
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,80 @@
+package com.rima.expenseflow.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL issued by the current request: statement count, time spent in JDBC executes, and
+ * how often each distinct SELECT ran. QueryMetricsFilter opens one per request on the
+ * request thread; Hibernate reports into it through QueryCountingStatementInspector and
+ * JdbcTimingSessionListener. Work on other threads (async streaming, schedulers) is not
+ * attributed to any request.
+ */
+final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> selects = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+    private long executeStart;
+
+    static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statement(String sql) {
+        statements++;
+        // Parameters are bound as ?, so the same lookup repeated per row has the same text
+        if (sql.regionMatches(true, 0, "select", 0, 6) && !isSequenceCall(sql)) {
+            selects.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    // Id generators fetch sequence blocks (H2 "next value for", Postgres "nextval(") as writes go on
+    private static boolean isSequenceCall(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains("next value for") || lower.contains("nextval(");
+    }
+
+    void executeStarted() {
+        executeStart = System.nanoTime();
+    }
+
+    void executeEnded() {
+        if (executeStart != 0) {
+            jdbcNanos += System.nanoTime() - executeStart;
+            executeStart = 0;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    // SELECTs that ran at least threshold times, most repeated first
+    Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selects.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
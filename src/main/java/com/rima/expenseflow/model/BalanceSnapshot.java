@@ -0,0 +1,56 @@
+package com.rima.expenseflow.model;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of a user's transactions for one (closed year, type, category) bucket,
+ * folded from that year's monthly rollups. Never updated: a write dated in the year
+ * deletes the year's rows and BalanceService materializes them again on the next read.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "balance_snapshots",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_balance_snapshots_bucket",
+                columnNames = {"user_id", "period_year", "type", "category"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot implements CategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period_year", nullable = false)
+    private Integer periodYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Category category;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long count;
+}
@@ -0,0 +1,52 @@
+package com.rima.expenseflow.model;
+
+import com.rima.expenseflow.model.enums.Category;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A user's monthly spending limit for one expense category. The same limit applies to
+ * every month; spend against it is tracked by BudgetService.
+ */
+@Entity
+@Table(
+        name = "budgets",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_budgets_user_category",
+                columnNames = {"user_id", "category"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Category category;
+
+    @Column(name = "monthly_limit", nullable = false, precision = 12, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
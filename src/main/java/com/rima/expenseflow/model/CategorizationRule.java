@@ -0,0 +1,70 @@
+package com.rima.expenseflow.model;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A user's rule mapping a description pattern, optionally narrowed by an amount range,
+ * to a category. The type is always the category's type. When several rules match, the
+ * lowest priority wins, then the oldest rule.
+ */
+@Entity
+@Table(
+        name = "categorization_rules",
+        indexes = @Index(name = "idx_categorization_rules_user", columnList = "user_id, priority, id")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorizationRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 200)
+    private String pattern;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type", nullable = false, length = 20)
+    private RuleMatchType matchType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Category category;
+
+    // Inclusive bounds; null does not restrict
+    @Column(name = "min_amount", precision = 12, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "max_amount", precision = 12, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.rima.expenseflow.model;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running sum and count of a user's transactions for one (month, type, category) bucket.
+ * Maintained by RollupService in the same JPA transaction as the transaction writes.
+ */
+@Entity
+@Table(
+        name = "monthly_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_rollups_bucket",
+                columnNames = {"user_id", "month_start", "type", "category"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup implements CategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // First day of the bucket's month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private Category category;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long count;
+}
@@ -0,0 +1,103 @@
+package com.rima.expenseflow.model;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RecurrenceFrequency;
+import com.rima.expenseflow.model.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A template the scheduler turns into a transaction on every occurrence of its schedule.
+ * nextRunDate is the first occurrence not yet materialized, or null once the schedule has
+ * ended; the scheduler finds due templates by range-scanning its index, so a run only
+ * touches templates that are due that day.
+ */
+@Entity
+@Table(
+        name = "recurring_transactions",
+        indexes = {
+                @Index(name = "idx_recurring_transactions_next_run", columnList = "next_run_date, id"),
+                @Index(name = "idx_recurring_transactions_user", columnList = "user_id, id")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 200)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+
+    // Null: the user's categorization rules choose at each occurrence
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private Category category;
+
+    @Column(length = 500)
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+
+    // Every n days, weeks, months or years
+    @Column(name = "repeat_interval", nullable = false)
+    private int repeatInterval;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Inclusive; null repeats forever
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Index of nextRunDate in the schedule
+    @Column(name = "occurrence_index", nullable = false)
+    private int occurrenceIndex;
+
+    @Column(name = "next_run_date")
+    private LocalDate nextRunDate;
+
+    @Column(name = "last_run_date")
+    private LocalDate lastRunDate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Point the template at occurrence n of its schedule, or at nothing once that
+     * occurrence is past the end date.
+     */
+    public void scheduleOccurrence(int n) {
+        LocalDate date = frequency.occurrence(startDate, repeatInterval, n);
+        occurrenceIndex = n;
+        nextRunDate = endDate == null || !date.isAfter(endDate) ? date : null;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,14 +16,26 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(
+        name = "transactions",
+        indexes = {
+                // History paging: newest first, id as tie-breaker
+                @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date DESC, id"),
+                @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, transaction_date"),
+                @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category, transaction_date"),
+                // Duplicate detection
+                @Index(name = "idx_transactions_user_fingerprint", columnList = "user_id, fingerprint")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    // Pooled sequence rather than IDENTITY, so inserts can be JDBC-batched (see bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Amount is required")
@@ -60,6 +73,16 @@ public class Transaction {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // See TransactionFingerprint; kept current on every insert and update.
+    // Null only for rows written before the column existed, until backfilled
+    @Column(length = TransactionFingerprint.LENGTH)
+    private String fingerprint;
+
+    // Stored under DuplicatePolicy.FLAG although the fingerprint already existed
+    @ColumnDefault("false")
+    @Column(name = "possible_duplicate", nullable = false)
+    private boolean possibleDuplicate;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -67,4 +90,13 @@ public class Transaction {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Incomplete rows are left to bean validation, which runs after this callback
+    @PrePersist
+    @PreUpdate
+    void updateFingerprint() {
+        if (user != null && transactionDate != null && type != null && amount != null && description != null) {
+            fingerprint = TransactionFingerprint.of(this);
+        }
+    }
 }
\ No newline at end of file
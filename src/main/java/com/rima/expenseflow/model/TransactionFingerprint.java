@@ -0,0 +1,48 @@
+package com.rima.expenseflow.model;
+
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.util.Sha256;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Identity of a transaction for duplicate detection: SHA-256 (hex) of the owner, date,
+ * type, amount and description. Descriptions are compared case-insensitively with runs of
+ * whitespace collapsed, so the same bank row exported twice gets the same fingerprint.
+ */
+public final class TransactionFingerprint {
+
+    public static final int LENGTH = 64;
+
+    private TransactionFingerprint() {
+    }
+
+    public static String of(Transaction transaction) {
+        return of(transaction.getUser().getId(), transaction.getTransactionDate(), transaction.getType(),
+                transaction.getAmount(), transaction.getDescription());
+    }
+
+    public static String of(Long userId, LocalDate date, TransactionType type, BigDecimal amount,
+                            String description) {
+        String key = userId + "|" + date + "|" + type + "|"
+                + amount.setScale(2, RoundingMode.HALF_UP).toPlainString() + "|" + normalize(description);
+        return HexFormat.of().formatHex(Sha256.digest(key));
+    }
+
+    // First and second 64 bits of a fingerprint, for BloomFilter
+    public static long high(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+    }
+
+    public static long low(String fingerprint) {
+        return Long.parseUnsignedLong(fingerprint, 16, 32, 16);
+    }
+
+    static String normalize(String description) {
+        return description.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
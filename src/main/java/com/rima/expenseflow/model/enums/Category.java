@@ -2,21 +2,37 @@ package com.rima.expenseflow.model.enums;
 
 public enum Category {
     // Income categories
-    SALARY,
-    FREELANCE,
-    INVESTMENT,
-    GIFT,
-    OTHER_INCOME,
+    SALARY(TransactionType.INCOME),
+    FREELANCE(TransactionType.INCOME),
+    INVESTMENT(TransactionType.INCOME),
+    GIFT(TransactionType.INCOME),
+    OTHER_INCOME(TransactionType.INCOME),
 
     // Expense categories
-    FOOD,
-    TRANSPORT,
-    HOUSING,
-    UTILITIES,
-    ENTERTAINMENT,
-    HEALTHCARE,
-    SHOPPING,
-    EDUCATION,
-    TRAVEL,
-    OTHER_EXPENSE
-}
\ No newline at end of file
+    FOOD(TransactionType.EXPENSE),
+    TRANSPORT(TransactionType.EXPENSE),
+    HOUSING(TransactionType.EXPENSE),
+    UTILITIES(TransactionType.EXPENSE),
+    ENTERTAINMENT(TransactionType.EXPENSE),
+    HEALTHCARE(TransactionType.EXPENSE),
+    SHOPPING(TransactionType.EXPENSE),
+    EDUCATION(TransactionType.EXPENSE),
+    TRAVEL(TransactionType.EXPENSE),
+    OTHER_EXPENSE(TransactionType.EXPENSE);
+
+    private final TransactionType type;
+
+    Category(TransactionType type) {
+        this.type = type;
+    }
+
+    // The kind of transaction this category belongs to
+    public TransactionType getType() {
+        return type;
+    }
+
+    // Category for a transaction of the given type that nothing else applies to
+    public static Category fallback(TransactionType type) {
+        return type == TransactionType.INCOME ? OTHER_INCOME : OTHER_EXPENSE;
+    }
+}
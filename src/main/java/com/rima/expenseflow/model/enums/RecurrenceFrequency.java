@@ -0,0 +1,25 @@
+package com.rima.expenseflow.model.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * The n-th (0-based) occurrence of a schedule. Always counted from the start date, so
+     * month ends are clamped per month instead of drifting: Jan 31, Feb 28, Mar 31.
+     */
+    public LocalDate occurrence(LocalDate start, int interval, int n) {
+        return start.plus((long) n * interval, unit);
+    }
+}
@@ -0,0 +1,6 @@
+package com.rima.expenseflow.model.enums;
+
+public enum RuleMatchType {
+    CONTAINS,  // Case-insensitive substring of the description
+    REGEX      // java.util.regex pattern, found anywhere in the description
+}
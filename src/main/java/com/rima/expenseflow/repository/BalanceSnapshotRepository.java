@@ -0,0 +1,26 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    // All closed-year buckets of a user (at most years x types x categories rows)
+    List<BalanceSnapshot> findByUserId(Long userId);
+
+    // Invalidate one closed year after a back-dated write
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.userId = :userId AND s.periodYear = :periodYear")
+    int deleteByUserIdAndPeriodYear(@Param("userId") Long userId, @Param("periodYear") int periodYear);
+
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
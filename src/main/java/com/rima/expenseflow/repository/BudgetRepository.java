@@ -0,0 +1,25 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.model.Budget;
+import com.rima.expenseflow.model.enums.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    // At most one row per expense category
+    List<Budget> findByUserId(Long userId);
+
+    Optional<Budget> findByUserIdAndCategory(Long userId, Category category);
+
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,29 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.model.CategorizationRule;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategorizationRuleRepository extends JpaRepository<CategorizationRule, Long> {
+
+    // In evaluation order: lowest priority first, then oldest
+    List<CategorizationRule> findByUserIdOrderByPriorityAscIdAsc(Long userId);
+
+    Optional<CategorizationRule> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    long countByUserIdAndMatchType(Long userId, RuleMatchType matchType);
+
+    @Modifying
+    @Query("DELETE FROM CategorizationRule r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
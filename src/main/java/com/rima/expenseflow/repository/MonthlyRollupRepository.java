@@ -0,0 +1,53 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.model.MonthlyRollup;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    // All buckets of one month (at most types x categories rows)
+    List<MonthlyRollup> findByUserIdAndMonthStart(Long userId, LocalDate monthStart);
+
+    // All buckets of a user, used when verifying against the transactions table
+    List<MonthlyRollup> findByUserId(Long userId);
+
+    // Buckets of a range of months, e.g. one closed year being snapshotted
+    List<MonthlyRollup> findByUserIdAndMonthStartBetween(Long userId, LocalDate start, LocalDate end);
+
+    // Buckets from a month on, including future-dated ones
+    List<MonthlyRollup> findByUserIdAndMonthStartGreaterThanEqual(Long userId, LocalDate start);
+
+    // Years before the given date in which the user has any bucket
+    @Query("SELECT DISTINCT YEAR(r.monthStart) FROM MonthlyRollup r " +
+            "WHERE r.userId = :userId AND r.monthStart < :before")
+    List<Integer> findYearsBefore(@Param("userId") Long userId, @Param("before") LocalDate before);
+
+    // Add a delta to an existing bucket; returns 0 when the bucket does not exist yet
+    @Modifying
+    @Query("UPDATE MonthlyRollup r SET r.total = r.total + :amount, r.count = r.count + :count " +
+            "WHERE r.userId = :userId AND r.monthStart = :monthStart " +
+            "AND r.type = :type AND r.category = :category")
+    int applyDelta(
+            @Param("userId") Long userId,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("type") TransactionType type,
+            @Param("category") Category category,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
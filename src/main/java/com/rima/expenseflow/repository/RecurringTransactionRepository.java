@@ -0,0 +1,45 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.model.RecurringTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    /**
+     * The next page of due templates, locked for materialization. A lock timeout of -2 is
+     * SKIP LOCKED: rows another scheduler or a user edit holds are left for a later batch.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.nextRunDate <= :today ORDER BY r.nextRunDate, r.id")
+    List<RecurringTransaction> lockDue(@Param("today") LocalDate today, Pageable pageable);
+
+    List<RecurringTransaction> findByUserIdOrderByIdAsc(Long userId);
+
+    // Edits lock the row so a concurrent materialization cannot be overwritten with a stale schedule
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.id = :id AND r.userId = :userId")
+    Optional<RecurringTransaction> lockByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    Optional<RecurringTransaction> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RecurringTransaction r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,33 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // A plain INSERT, unlike save(): a second revocation of the same id fails on the primary key
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at, revoked_at) "
+            + "VALUES (:tokenId, :expiresAt, :revokedAt)", nativeQuery = true)
+    int insert(@Param("tokenId") String tokenId,
+               @Param("expiresAt") Instant expiresAt,
+               @Param("revokedAt") Instant revokedAt);
+
+    // Revocations recorded since the last sync that still cover live tokens
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Instant revokedAfter, Instant expiresAfter);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
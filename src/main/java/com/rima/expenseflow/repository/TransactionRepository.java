@@ -1,43 +1,77 @@
 package com.rima.expenseflow.repository;
 
+import com.rima.expenseflow.dto.TransactionExportRow;
 import com.rima.expenseflow.model.Transaction;
 import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.model.enums.Category;
 import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
+import com.rima.expenseflow.repository.projection.MonthlyCategoryTotal;
+import com.rima.expenseflow.repository.projection.PeriodCategoryTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction> {
 
     // Find all transactions for a user by userId
-    Page<Transaction> findByUserId(Long userId, Pageable pageable);
+    // (explicit queries filter on the user_id column; derived userId finders join users and scan)
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId")
+    Page<Transaction> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
     // Find by userId and type
-    Page<Transaction> findByUserIdAndType(Long userId, TransactionType type, Pageable pageable);
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.type = :type")
+    Page<Transaction> findByUserIdAndType(
+            @Param("userId") Long userId,
+            @Param("type") TransactionType type,
+            Pageable pageable
+    );
 
     // Find by userId and category
-    Page<Transaction> findByUserIdAndCategory(Long userId, Category category, Pageable pageable);
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.category = :category")
+    Page<Transaction> findByUserIdAndCategory(
+            @Param("userId") Long userId,
+            @Param("category") Category category,
+            Pageable pageable
+    );
 
     // Find by userId, type, and category
+    @Query("SELECT t FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.type = :type AND t.category = :category")
     Page<Transaction> findByUserIdAndTypeAndCategory(
-            Long userId,
-            TransactionType type,
-            Category category,
+            @Param("userId") Long userId,
+            @Param("type") TransactionType type,
+            @Param("category") Category category,
             Pageable pageable
     );
 
-    // Find single transaction by id and userId (for authorization)
-    Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+    // Find single transaction by id and userId (for authorization); owner fetched in the same statement
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Transaction> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Filtered listing; owner fetched in the same statement so mapping needs no extra select
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Transaction> findAll(Specification<Transaction> spec, Pageable pageable);
 
     // Find all transactions for a user (original method - keep for backward compatibility)
     Page<Transaction> findByUser(User user, Pageable pageable);
@@ -90,4 +124,97 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("user") User user,
             @Param("type") TransactionType type
     );
-}
\ No newline at end of file
+
+    // Sum and count per type and category for a date range, computed by the database
+    @Query("SELECT t.type AS type, t.category AS category, " +
+            "SUM(t.amount) AS total, COUNT(t) AS count FROM Transaction t " +
+            "WHERE t.user.id = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.type, t.category")
+    List<CategoryTotal> summarizeByTypeAndCategory(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Sum and count per month, type and category over a user's whole history (rollup rebuild)
+    @Query("SELECT t.type AS type, t.category AS category, " +
+            "YEAR(t.transactionDate) AS periodYear, MONTH(t.transactionDate) AS periodMonth, " +
+            "SUM(t.amount) AS total, COUNT(t) AS count FROM Transaction t " +
+            "WHERE t.user.id = :userId " +
+            "GROUP BY t.type, t.category, YEAR(t.transactionDate), MONTH(t.transactionDate)")
+    List<MonthlyCategoryTotal> summarizeByMonth(@Param("userId") Long userId);
+
+    // Sum and count per day, type and category in a date range (trend series)
+    @Query("SELECT t.transactionDate AS periodStart, t.type AS type, t.category AS category, " +
+            "SUM(t.amount) AS total, COUNT(t) AS count FROM Transaction t " +
+            "WHERE t.user.id = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.transactionDate, t.type, t.category")
+    List<PeriodCategoryTotal> summarizeByDay(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // As summarizeByDay, bucketed by ISO week (date_trunc('week'), weeks start on Monday)
+    @Query("SELECT CAST(truncate(t.transactionDate, week) AS LocalDate) AS periodStart, " +
+            "t.type AS type, t.category AS category, " +
+            "SUM(t.amount) AS total, COUNT(t) AS count FROM Transaction t " +
+            "WHERE t.user.id = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY CAST(truncate(t.transactionDate, week) AS LocalDate), t.type, t.category")
+    List<PeriodCategoryTotal> summarizeByWeek(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // As summarizeByDay, bucketed by calendar month (date_trunc('month'))
+    @Query("SELECT CAST(truncate(t.transactionDate, month) AS LocalDate) AS periodStart, " +
+            "t.type AS type, t.category AS category, " +
+            "SUM(t.amount) AS total, COUNT(t) AS count FROM Transaction t " +
+            "WHERE t.user.id = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY CAST(truncate(t.transactionDate, month) AS LocalDate), t.type, t.category")
+    List<PeriodCategoryTotal> summarizeByMonthStart(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Those of the given fingerprints the user already has (duplicate detection)
+    @Query("SELECT DISTINCT t.fingerprint FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.fingerprint IN :fingerprints")
+    List<String> findExistingFingerprints(
+            @Param("userId") Long userId,
+            @Param("fingerprints") Collection<String> fingerprints
+    );
+
+    // All of a user's fingerprints, to fill a Bloom filter; consume inside a transaction and close
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.fingerprint FROM Transaction t WHERE t.user.id = :userId AND t.fingerprint IS NOT NULL")
+    Stream<String> streamFingerprints(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    // Rows written before fingerprints existed, in batches for the backfill
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.fingerprint IS NULL")
+    List<Transaction> findWithoutFingerprint(@Param("userId") Long userId, Pageable pageable);
+
+    // Whole history newest first, read through a forward-only cursor in fetch-size chunks;
+    // must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.rima.expenseflow.dto.TransactionExportRow(" +
+            "t.id, t.transactionDate, t.type, t.category, t.amount, t.description, t.notes) " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<TransactionExportRow> streamForExport(@Param("userId") Long userId);
+}
@@ -0,0 +1,88 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.dto.TransactionFilter;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Composable filters for TransactionRepository. Each factory returns null for a
+ * null argument, which Specification.where/and treat as "no restriction".
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    // Compares the user_id column directly, no join to users
+    public static Specification<Transaction> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    // Loads the owner in the same statement; not for queries that are also counted
+    public static Specification<Transaction> fetchOwner() {
+        return (root, query, cb) -> {
+            root.fetch("user");
+            return null;
+        };
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> hasCategory(Category category) {
+        return category == null ? null : (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Transaction> dateFrom(LocalDate from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), from);
+    }
+
+    public static Specification<Transaction> dateTo(LocalDate to) {
+        return to == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("transactionDate"), to);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal min) {
+        return min == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), min);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal max) {
+        return max == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), max);
+    }
+
+    public static Specification<Transaction> descriptionContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("description")), pattern, '\\');
+    }
+
+    /**
+     * Every filter of the request combined into one WHERE clause for a single statement.
+     */
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter) {
+        return Specification.where(ownedBy(userId))
+                .and(hasType(filter.getType()))
+                .and(hasCategory(filter.getCategory()))
+                .and(dateFrom(filter.getFrom()))
+                .and(dateTo(filter.getTo()))
+                .and(amountAtLeast(filter.getMinAmount()))
+                .and(amountAtMost(filter.getMaxAmount()))
+                .and(descriptionContains(filter.getSearch()));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
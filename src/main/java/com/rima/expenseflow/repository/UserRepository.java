@@ -1,9 +1,16 @@
 package com.rima.expenseflow.repository;
 
 import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.projection.UserIdentity;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +20,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Keyset page of usernames and emails in id order, to fill the availability filter
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email FROM User u "
+            + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserIdentity> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * The user's row doubles as the lock between closed-year balance snapshots and the
+     * back-dated writes that invalidate them: writes take it shared (they do not block each
+     * other), BalanceService takes it exclusively while it materializes a snapshot.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockForClosedYearWrite(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockForSnapshot(@Param("id") Long id);
+}
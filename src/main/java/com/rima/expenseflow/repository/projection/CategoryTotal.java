@@ -0,0 +1,17 @@
+package com.rima.expenseflow.repository.projection;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated (type, category) bucket returned by GROUP BY queries.
+ * Aliases in the JPQL select clause must match the getter names.
+ */
+public interface CategoryTotal {
+    TransactionType getType();
+    Category getCategory();
+    BigDecimal getTotal();
+    Long getCount();
+}
@@ -0,0 +1,9 @@
+package com.rima.expenseflow.repository.projection;
+
+/**
+ * CategoryTotal bucket that is additionally grouped by calendar month.
+ */
+public interface MonthlyCategoryTotal extends CategoryTotal {
+    Integer getPeriodYear();
+    Integer getPeriodMonth();
+}
@@ -0,0 +1,10 @@
+package com.rima.expenseflow.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * CategoryTotal bucket that is additionally grouped by a truncated date (day, week or month).
+ */
+public interface PeriodCategoryTotal extends CategoryTotal {
+    LocalDate getPeriodStart();
+}
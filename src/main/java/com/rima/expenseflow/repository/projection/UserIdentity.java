@@ -0,0 +1,11 @@
+package com.rima.expenseflow.repository.projection;
+
+/**
+ * The unique fields of a user, without loading the entity.
+ * Aliases in the JPQL select clause must match the getter names.
+ */
+public interface UserIdentity {
+    Long getId();
+    String getUsername();
+    String getEmail();
+}
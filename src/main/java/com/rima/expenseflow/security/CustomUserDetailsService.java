@@ -1,21 +1,52 @@
 package com.rima.expenseflow.security;
 
+import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    public static final String PRINCIPAL_CACHE = "principals";
 
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
+    // Cached per username as an immutable AuthenticatedUser, never the entity itself;
+    // misses (UsernameNotFoundException) are not cached
     @Override
+    @Cacheable(cacheNames = PRINCIPAL_CACHE, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
+                .map(AuthenticatedUser::of)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
-}
\ No newline at end of file
+
+    // Called by DaoAuthenticationProvider after a login whose hash was made at another strength
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        evict(entity.getUsername());
+        return AuthenticatedUser.of(entity);
+    }
+
+    // Call whenever a user's username, password, role or existence changes. Inside a
+    // transaction the eviction runs after commit, so a concurrent login cannot re-cache
+    // the old row between the eviction and the commit
+    public void evict(String username) {
+        new TransactionAwareCacheDecorator(cacheManager.getCache(PRINCIPAL_CACHE)).evict(username);
+    }
+}
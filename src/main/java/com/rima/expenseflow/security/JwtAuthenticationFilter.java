@@ -1,5 +1,6 @@
 package com.rima.expenseflow.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +23,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(
@@ -38,39 +40,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
-        // Extract JWT from Authorization header
+        // Parse and verify the JWT once (signature and expiry)
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                claims = jwtUtil.parse(jwt);
             } catch (Exception e) {
-                logger.error("Error extracting username from JWT: " + e.getMessage());
+                logger.error("Error parsing JWT: " + e.getMessage());
                 // Don't return here - let it continue and fail authentication naturally
             }
         }
 
-        // Validate token and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Refresh tokens only work against /api/auth/refresh; revoked tokens not at all
+        if (claims != null && (jwtUtil.isRefreshToken(claims) || revocationList.isRevoked(claims))) {
+            claims = null;
+        }
+
+        // Resolve the principal and set authentication
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-
-                    authenticationToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                }
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                UsernamePasswordAuthenticationToken authenticationToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+
+                authenticationToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
+
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             } catch (Exception e) {
                 logger.error("Error during authentication: " + e.getMessage());
                 // Continue without setting auth - will result in 401/403
@@ -79,4 +84,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Stateless mode builds the principal from the signed claims without a database call;
+    // tokens issued before the uid/role claims existed still go through the user lookup
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+
+        if (jwtUtil.isStateless() && userId != null && role != null) {
+            return new AuthenticatedUser(userId, claims.getSubject(), null, role);
+        }
+        return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+}
@@ -1,9 +1,12 @@
 package com.rima.expenseflow.security;
 
+import com.rima.expenseflow.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -13,20 +16,56 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    // Login session a token belongs to; revoking it revokes every token issued in that session
+    public static final String FAMILY_CLAIM = "fid";
+    public static final String TOKEN_USE_CLAIM = "use";
+    public static final String REFRESH_USE = "refresh";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private static final long DEFAULT_REFRESH_EXPIRATION = 14L * 24 * 60 * 60 * 1000;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Key and parser are immutable and thread-safe, so they are derived once at startup
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final long refreshExpiration;
+    private final boolean stateless;
+
+    public JwtUtil(String secret, long expiration, boolean stateless) {
+        this(secret, expiration, DEFAULT_REFRESH_EXPIRATION, stateless);
+    }
+
+    @Autowired
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") long expiration,
+            @Value("${jwt.refresh-expiration:1209600000}") long refreshExpiration,
+            @Value("${jwt.stateless:false}") boolean stateless) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.stateless = stateless;
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims. Throws JwtException
+     * for a malformed, tampered or expired token.
+     */
+    public Claims parse(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // When true, the filter trusts the uid and role claims instead of loading the user
+    public boolean isStateless() {
+        return stateless;
     }
 
     public String extractUsername(String token) {
@@ -38,39 +77,75 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parse(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public long getExpiration() {
+        return expiration;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public long getRefreshExpiration() {
+        return refreshExpiration;
     }
 
+    // Access token outside any login session
     public String generateToken(UserDetails userDetails) {
+        return generateAccessToken(userDetails, null);
+    }
+
+    public String generateAccessToken(UserDetails userDetails, String familyId) {
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole());
+        }
+        if (familyId != null) {
+            claims.put(FAMILY_CLAIM, familyId);
+        }
+        return createToken(claims, userDetails.getUsername(), expiration);
+    }
+
+    // Carries no role: it is only accepted by the refresh and logout endpoints
+    public String generateRefreshToken(UserDetails userDetails, String familyId) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(TOKEN_USE_CLAIM, REFRESH_USE);
+        claims.put(FAMILY_CLAIM, familyId);
+        return createToken(claims, userDetails.getUsername(), refreshExpiration);
+    }
+
+    /**
+     * As parse, and also rejects anything but a refresh token.
+     */
+    public Claims parseRefreshToken(String token) {
+        Claims claims = parse(token);
+        if (!isRefreshToken(claims) || claims.getId() == null || claims.get(FAMILY_CLAIM) == null) {
+            throw new JwtException("Not a refresh token");
+        }
+        return claims;
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_USE.equals(claims.get(TOKEN_USE_CLAIM, String.class));
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long lifetime) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + lifetime))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            // parse() already rejects expired tokens
+            return parse(token).getSubject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
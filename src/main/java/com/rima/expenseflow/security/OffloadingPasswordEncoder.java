@@ -0,0 +1,122 @@
+package com.rima.expenseflow.security;
+
+import com.rima.expenseflow.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt on a fixed pool of CPU-sized hashing threads with a bounded queue. A burst of
+ * logins or registrations queues here instead of occupying every request thread with
+ * tens of milliseconds of CPU each; once the queue is full the call fails fast with
+ * ServiceUnavailableException (503 with Retry-After) rather than waiting behind it.
+ *
+ * upgradeEncoding reports any hash whose cost differs from the configured strength, so
+ * DaoAuthenticationProvider re-hashes the password on the user's next successful login
+ * after the strength is raised or lowered.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public OffloadingPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry registry) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity, registry);
+    }
+
+    OffloadingPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity,
+                              MeterRegistry registry) {
+        this.delegate = delegate;
+        this.strength = strength;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+            Thread thread = new Thread(task, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Queue depth, active threads and rejections as executor.* tagged name=password.hashing
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(registry);
+        this.encodeTimer = hashTimer("encode", registry);
+        this.matchesTimer = hashTimer("matches", registry);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry registry) {
+        return Timer.builder("expenseflow.password.hash")
+                .description("Time spent hashing on the password-hash pool, excluding the queue wait")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Reads the cost from the hash itself: $2a$10$<53 chars>
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() != 60 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword, 4, 6, 10) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    // Called by the container on shutdown; queued hashes are abandoned with their requests
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T offload(Timer timer, Callable<T> hash) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.recordCallable(hash));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many sign-ins in progress, retry shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
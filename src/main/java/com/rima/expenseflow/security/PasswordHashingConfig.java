@@ -0,0 +1,26 @@
+package com.rima.expenseflow.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt strength and the pool it runs on. threads=0 means one per available processor:
+ * hashing is pure CPU, so more threads only add contention. The queue bounds how many
+ * sign-ins may wait; beyond it they are turned away with 503.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${expenseflow.security.bcrypt.strength:10}") int strength,
+            @Value("${expenseflow.security.bcrypt.threads:0}") int threads,
+            @Value("${expenseflow.security.bcrypt.queue-capacity:64}") int queueCapacity,
+            MeterRegistry registry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(strength, poolSize, queueCapacity, registry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.rima.expenseflow.security;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Principal cache in front of CustomUserDetailsService. Size, TTL and stats are set by
+ * spring.cache.caffeine.spec; hit/miss/eviction metrics are published by Actuator.
+ */
+@Configuration
+@EnableCaching
+public class PrincipalCacheConfig {
+}
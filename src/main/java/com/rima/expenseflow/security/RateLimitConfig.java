@@ -0,0 +1,60 @@
+package com.rima.expenseflow.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Per-user request budget: requests-per-second permits refill continuously, up to burst.
+ * Aggregations cost summary-cost permits and whole-history reads and writes (export,
+ * imports) cost bulk-cost, so a client polling the summary runs dry long before it can
+ * keep the database busy. Buckets are kept for at most max-users users.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expenseflow.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(
+            @Value("${expenseflow.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${expenseflow.rate-limit.burst:60}") int burst,
+            @Value("${expenseflow.rate-limit.max-users:1000000}") long maxUsers,
+            MeterRegistry registry) {
+        RateLimiter limiter = new RateLimiter(requestsPerSecond, burst, maxUsers);
+        Gauge.builder("expenseflow.rate-limit.users", limiter, RateLimiter::getTrackedKeys)
+                .description("Users with a rate limit bucket in memory")
+                .register(registry);
+        return limiter;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(
+            RateLimiter rateLimiter,
+            @Value("${expenseflow.rate-limit.summary-cost:5}") int summaryCost,
+            @Value("${expenseflow.rate-limit.bulk-cost:20}") int bulkCost,
+            ObjectMapper objectMapper,
+            MeterRegistry registry) {
+        Map<String, Integer> costs = Map.of(
+                "/api/transactions/summary", summaryCost,
+                "/api/transactions/trends", summaryCost,
+                "/api/transactions/export", bulkCost,
+                "/api/transactions/import", bulkCost,
+                "/api/transactions/statements", bulkCost);
+        return new RateLimitFilter(rateLimiter, costs, objectMapper, registry);
+    }
+
+    // Runs inside the security chain only; a servlet registration would run it before authentication
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,95 @@
+package com.rima.expenseflow.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user admission control, run in the security chain right after JwtAuthenticationFilter
+ * so that the key is the authenticated user id. Each request costs one permit unless its
+ * path is listed in costs; a request that finds its user's bucket empty is answered 429
+ * with Retry-After before it reaches a controller or the connection pool.
+ *
+ * Unauthenticated requests pass through untouched: sign-in is bounded by the password
+ * hashing queue, and everything else is refused by authorization anyway.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+    private final Map<String, Integer> costs;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public RateLimitFilter(RateLimiter limiter, Map<String, Integer> costs, ObjectMapper objectMapper,
+                           MeterRegistry registry) {
+        this.limiter = limiter;
+        this.costs = Map.copyOf(costs);
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("expenseflow.rate-limit.rejected")
+                .description("Requests answered 429 by the per-user rate limit")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = limiter.tryAcquire(key(authentication), cost(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, retry in " + retryAfterSeconds + " s",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    // Path within the application, so it matches whatever the servlet mapping is
+    private int cost(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return costs.getOrDefault(path, 1);
+    }
+
+    // The user id survives a rename; other principals are keyed by name
+    private static Object key(Authentication authentication) {
+        return authentication.getPrincipal() instanceof AuthenticatedUser user && user.id() != null
+                ? user.id()
+                : authentication.getName();
+    }
+}
@@ -0,0 +1,74 @@
+package com.rima.expenseflow.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key in GCRA form: a bucket is a single AtomicLong holding the time at
+ * which it will be full again (the theoretical arrival time). A request of cost c moves
+ * that time c emission intervals into the future and is admitted while it stays within
+ * burst intervals of now. Admission is one compare-and-set, with no lock and no refill
+ * task.
+ *
+ * Buckets live in a size-bounded cache. An idle bucket is dropped once it would be full
+ * again, which loses nothing; dropping a busy one under size pressure only hands that key
+ * a fresh burst.
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int burst;
+    private final LongSupplier clock;
+    private final Cache<Object, AtomicLong> buckets;
+
+    public RateLimiter(double permitsPerSecond, int burst, long maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, long maxKeys, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * burst;
+        this.burst = burst;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos))
+                .build();
+    }
+
+    /**
+     * Takes cost permits from key's bucket. Returns 0 if they were taken, otherwise how many
+     * nanoseconds until they would be. A cost above the burst is charged as the burst.
+     */
+    public long tryAcquire(Object key, int cost) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long increment = emissionIntervalNanos * Math.min(cost, burst);
+        while (true) {
+            // Bucket before clock: a thread preempted in between then only fails the CAS, where
+            // the other order would compare a stale now against a bucket moved on since
+            long fullAt = bucket.get();
+            long now = clock.getAsLong();
+            long next = Math.max(fullAt, now) + increment;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getTrackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,117 @@
+package com.rima.expenseflow.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.rima.expenseflow.model.RevokedToken;
+import com.rima.expenseflow.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked token ids (jti) and login sessions (fid), checked by JwtAuthenticationFilter on
+ * every request. The check is a hash lookup in memory, so its cost does not depend on how
+ * many tokens are revoked, and it never reaches the database.
+ *
+ * Each entry expires with the last token it covers; after that the token's own expiry
+ * rejects it, so the list only ever holds revocations that still matter. Revocations are
+ * written to revoked_tokens first: the table is reloaded at startup and polled every
+ * jwt.revocation-sync for revocations made on other nodes.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // Covers clock skew between nodes and rows that committed after a sync had started
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    // id -> expiry in epoch milliseconds
+    private final Cache<String, Long> revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Long>() {
+                @Override
+                public long expireAfterCreate(String id, Long expiresAt, long currentTime) {
+                    return untilExpiry(expiresAt);
+                }
+
+                @Override
+                public long expireAfterUpdate(String id, Long expiresAt, long currentTime, long currentDuration) {
+                    return untilExpiry(expiresAt);
+                }
+
+                @Override
+                public long expireAfterRead(String id, Long expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    private volatile Instant syncedAt = Instant.EPOCH;
+
+    public TokenRevocationList(RevokedTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    // Whether the token, or the login session it was issued in, has been revoked
+    public boolean isRevoked(Claims claims) {
+        return isRevoked(claims.getId()) || isRevoked(claims.get(JwtUtil.FAMILY_CLAIM, String.class));
+    }
+
+    public boolean isRevoked(String id) {
+        return id != null && revoked.getIfPresent(id) != null;
+    }
+
+    /**
+     * Revokes id until expiresAt. Returns false if it had already been revoked, here or on
+     * another node: the primary key makes the first revocation of an id the only one.
+     */
+    public boolean revoke(String id, Instant expiresAt) {
+        boolean first;
+        try {
+            repository.insert(id, expiresAt, Instant.now());
+            first = true;
+        } catch (DataIntegrityViolationException e) {
+            first = false;
+        }
+        remember(id, expiresAt);
+        return first;
+    }
+
+    // Restart recovery: everything still live in the table
+    @PostConstruct
+    void load() {
+        sync();
+        log.info("Loaded {} token revocations", revoked.estimatedSize());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync:PT30S}", initialDelayString = "${jwt.revocation-sync:PT30S}")
+    public void sync() {
+        Instant now = Instant.now();
+        for (RevokedToken row : repository.findByRevokedAtAfterAndExpiresAtAfter(syncedAt.minus(SYNC_OVERLAP), now)) {
+            remember(row.getTokenId(), row.getExpiresAt());
+        }
+        syncedAt = now;
+    }
+
+    @Scheduled(cron = "${jwt.revocation-purge-cron:0 40 * * * *}")
+    public void purge() {
+        int purged = repository.deleteExpired(Instant.now());
+        log.debug("Purged {} expired token revocations", purged);
+    }
+
+    // The later expiry wins when an id is seen twice (local revoke, then sync)
+    void remember(String id, Instant expiresAt) {
+        revoked.asMap().merge(id, expiresAt.toEpochMilli(), Math::max);
+    }
+
+    private static long untilExpiry(long expiresAtMillis) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAtMillis - System.currentTimeMillis()));
+    }
+}
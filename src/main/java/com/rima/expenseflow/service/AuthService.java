@@ -2,64 +2,51 @@ package com.rima.expenseflow.service;
 
 import com.rima.expenseflow.dto.AuthRequest;
 import com.rima.expenseflow.dto.AuthResponse;
+import com.rima.expenseflow.dto.RefreshRequest;
 import com.rima.expenseflow.dto.RegisterRequest;
-import com.rima.expenseflow.exception.DuplicateResourceException;
 import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.repository.UserRepository;
 import com.rima.expenseflow.security.JwtUtil;
+import com.rima.expenseflow.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.UUID;
+
+// Not transactional: each BCrypt call takes tens of milliseconds, and an open transaction
+// would hold a pooled connection through it. Repository calls run in their own transactions
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationList revocationList;
 
     public AuthResponse register(RegisterRequest request) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new DuplicateResourceException("User", "username", request.getUsername());
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("User", "email", request.getEmail());
-        }
-
-        // Create new user
+        // Create new user; a taken username or email is rejected by the insert
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(request.getPassword());
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setRole("ROLE_USER");
 
-        User savedUser = userRepository.save(user);
-
-        // Generate JWT token
-        String token = jwtUtil.generateToken(savedUser);
+        User savedUser = userService.createUser(user);
 
-        return AuthResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .id(savedUser.getId())
-                .username(savedUser.getUsername())
-                .email(savedUser.getEmail())
-                .firstName(savedUser.getFirstName())
-                .lastName(savedUser.getLastName())
-                .build();
+        return startSession(savedUser);
     }
 
     public AuthResponse login(AuthRequest request) {
@@ -76,12 +63,47 @@ public class AuthService {
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow();
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(userDetails);
+        return startSession(user);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token in the same session.
+     * Each refresh token is spent on use: presenting one a second time means it was
+     * copied, so the whole session is revoked.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        Claims claims = parseRefreshToken(request.getRefreshToken());
+        String sessionId = claims.get(JwtUtil.FAMILY_CLAIM, String.class);
+        if (revocationList.isRevoked(sessionId)) {
+            throw new BadCredentialsException("Session has been signed out");
+        }
+        if (!revocationList.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            revokeSession(sessionId);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+
+        // The response carries the full profile, which the cached principal does not hold
+        User user = userRepository.findByUsername(claims.getSubject())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + claims.getSubject()));
+        return issueTokens(user, sessionId);
+    }
+
+    // Revokes the session of the refresh token: its access tokens stop working at once
+    public void logout(RefreshRequest request) {
+        Claims claims = parseRefreshToken(request.getRefreshToken());
+        revokeSession(claims.get(JwtUtil.FAMILY_CLAIM, String.class));
+    }
+
+    private AuthResponse startSession(User user) {
+        return issueTokens(user, UUID.randomUUID().toString());
+    }
 
+    private AuthResponse issueTokens(User user, String sessionId) {
         return AuthResponse.builder()
-                .token(token)
+                .token(jwtUtil.generateAccessToken(user, sessionId))
                 .type("Bearer")
+                .expiresIn(jwtUtil.getExpiration() / 1000)
+                .refreshToken(jwtUtil.generateRefreshToken(user, sessionId))
                 .id(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
@@ -89,4 +111,17 @@ public class AuthService {
                 .lastName(user.getLastName())
                 .build();
     }
-}
\ No newline at end of file
+
+    // No token of the session outlives the newest refresh token, which was issued at most now
+    private void revokeSession(String sessionId) {
+        revocationList.revoke(sessionId, Instant.now().plusMillis(jwtUtil.getRefreshExpiration()));
+    }
+
+    private Claims parseRefreshToken(String token) {
+        try {
+            return jwtUtil.parseRefreshToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+    }
+}
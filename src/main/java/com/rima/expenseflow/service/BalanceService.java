@@ -0,0 +1,145 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.BalanceResponse;
+import com.rima.expenseflow.dto.BalanceTotals;
+import com.rima.expenseflow.model.BalanceSnapshot;
+import com.rima.expenseflow.model.MonthlyRollup;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.BalanceSnapshotRepository;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * All-time, year-to-date and per-year balances. Closed years are read from immutable
+ * balance_snapshots rows, the current and future years from the live monthly rollups, so
+ * a request reads at most types x categories rows per closed year plus twelve months of
+ * buckets, however long the history is.
+ *
+ * A closed year without snapshot rows is materialized from its rollups on first read.
+ * RollupService deletes a year's rows when a back-dated write lands in it. Both sides lock
+ * the user's row, writes shared and materialization exclusively, so a write that commits
+ * while a year is being materialized either is folded into it or deletes it afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceService {
+
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final MonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Not transactional: each read stands alone; missing snapshots are saved in their own transaction
+    public BalanceResponse getBalance(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate yearStart = today.withDayOfYear(1);
+
+        List<BalanceSnapshot> snapshots = snapshotRepository.findByUserId(userId);
+        if (!covered(snapshots).containsAll(rollupRepository.findYearsBefore(userId, yearStart))) {
+            snapshots = transactionTemplate.execute(status -> materializeMissing(userId, yearStart));
+        }
+
+        Map<Integer, List<CategoryTotal>> byYear = new TreeMap<>();
+        snapshots.forEach(snapshot -> byYear.computeIfAbsent(snapshot.getPeriodYear(), y -> new ArrayList<>())
+                .add(snapshot));
+
+        List<CategoryTotal> all = new ArrayList<>(snapshots);
+        List<CategoryTotal> yearToDate = new ArrayList<>();
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        for (MonthlyRollup rollup : rollupRepository.findByUserIdAndMonthStartGreaterThanEqual(userId, yearStart)) {
+            all.add(rollup);
+            byYear.computeIfAbsent(rollup.getMonthStart().getYear(), y -> new ArrayList<>()).add(rollup);
+            if (!rollup.getMonthStart().isAfter(currentMonth)) {
+                yearToDate.add(rollup);
+            }
+        }
+
+        List<BalanceTotals> years = new ArrayList<>(byYear.size());
+        byYear.forEach((year, totals) -> years.add(fold(year, totals)));
+
+        return BalanceResponse.builder()
+                .asOf(today)
+                .allTime(fold(null, all))
+                .yearToDate(fold(today.getYear(), yearToDate))
+                .years(years)
+                .build();
+    }
+
+    /**
+     * Snapshots every closed year that has none, and returns all of the user's snapshots.
+     * Everything is read again after the lock is taken: a back-dated write that held it has
+     * committed by then, and one that waits for it deletes the rows saved here once it runs.
+     * A concurrent read that got the lock first has already saved the years it found.
+     */
+    private List<BalanceSnapshot> materializeMissing(Long userId, LocalDate yearStart) {
+        userRepository.lockForSnapshot(userId);
+        List<BalanceSnapshot> snapshots = new ArrayList<>(snapshotRepository.findByUserId(userId));
+        Set<Integer> covered = covered(snapshots);
+
+        List<BalanceSnapshot> created = new ArrayList<>();
+        for (int year : rollupRepository.findYearsBefore(userId, yearStart)) {
+            if (!covered.contains(year)) {
+                created.addAll(materialize(userId, year));
+            }
+        }
+        log.debug("Materializing {} balance snapshot rows for user {}", created.size(), userId);
+        snapshots.addAll(snapshotRepository.saveAll(created));
+        return snapshots;
+    }
+
+    private static Set<Integer> covered(List<BalanceSnapshot> snapshots) {
+        Set<Integer> years = new HashSet<>();
+        snapshots.forEach(snapshot -> years.add(snapshot.getPeriodYear()));
+        return years;
+    }
+
+    // One row per (type, category) bucket used in the year, summed over its months
+    private List<BalanceSnapshot> materialize(Long userId, int year) {
+        Map<Bucket, BalanceSnapshot> rows = new HashMap<>();
+        for (MonthlyRollup rollup : rollupRepository.findByUserIdAndMonthStartBetween(
+                userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 1))) {
+            rows.merge(new Bucket(rollup.getType(), rollup.getCategory()),
+                    new BalanceSnapshot(null, userId, year, rollup.getType(), rollup.getCategory(),
+                            rollup.getTotal(), rollup.getCount()),
+                    (a, b) -> new BalanceSnapshot(null, userId, year, a.getType(), a.getCategory(),
+                            a.getTotal().add(b.getTotal()), a.getCount() + b.getCount()));
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    // Zero buckets (left behind by deletes) are skipped by CategoryCents, as in the summary
+    static BalanceTotals fold(Integer year, List<? extends CategoryTotal> totals) {
+        CategoryCents cents = new CategoryCents();
+        for (CategoryTotal bucket : totals) {
+            cents.add(bucket);
+        }
+
+        return BalanceTotals.builder()
+                .year(year)
+                .totalIncome(cents.total(TransactionType.INCOME))
+                .totalExpenses(cents.total(TransactionType.EXPENSE))
+                .netBalance(cents.net())
+                .expensesByCategory(cents.byCategory(TransactionType.EXPENSE))
+                .incomeByCategory(cents.byCategory(TransactionType.INCOME))
+                .totalTransactions(cents.count())
+                .build();
+    }
+
+    private record Bucket(TransactionType type, Category category) {}
+}
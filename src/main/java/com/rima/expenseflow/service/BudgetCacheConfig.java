@@ -0,0 +1,39 @@
+package com.rima.expenseflow.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Budget limits per user, and the in-memory spend counters per user and month. Counters
+ * expire a fixed time after loading, so those that missed writes made elsewhere (another
+ * instance, an update racing the load) are reloaded from the rollups within that time.
+ */
+@Configuration
+public class BudgetCacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> budgetCaches(
+            @Value("${expenseflow.budgets.spend-cache-size:100000}") long spendCacheSize,
+            @Value("${expenseflow.budgets.spend-refresh:5m}") Duration spendRefresh) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(BudgetService.BUDGET_CACHE,
+                    Caffeine.newBuilder()
+                            .maximumSize(10_000)
+                            .expireAfterAccess(Duration.ofMinutes(30))
+                            .recordStats()
+                            .build());
+            cacheManager.registerCustomCache(BudgetService.SPEND_CACHE,
+                    Caffeine.newBuilder()
+                            .maximumSize(spendCacheSize)
+                            .expireAfterWrite(spendRefresh)
+                            .recordStats()
+                            .build());
+        };
+    }
+}
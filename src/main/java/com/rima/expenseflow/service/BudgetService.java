@@ -0,0 +1,214 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.BudgetRequest;
+import com.rima.expenseflow.dto.BudgetStatus;
+import com.rima.expenseflow.exception.BadRequestException;
+import com.rima.expenseflow.exception.ResourceNotFoundException;
+import com.rima.expenseflow.model.Budget;
+import com.rima.expenseflow.model.MonthlyRollup;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.BudgetRepository;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monthly budgets per expense category. Spend is kept in memory as per-(user, month)
+ * MonthSpend counters, loaded lazily from the monthly rollups (which are the durable,
+ * write-through copy) and then moved by record() for every rollup delta, so neither a
+ * write nor a status read sums transactions. A delta is applied when it is written and
+ * taken back if its transaction rolls back.
+ *
+ * Counters only see writes made through this instance, and a write racing a load can be
+ * missed; both are bounded by the counter cache's expiry (see BudgetCacheConfig).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BudgetService {
+
+    public static final String BUDGET_CACHE = "budgets";
+    public static final String SPEND_CACHE = "budgetSpend";
+
+    private final BudgetRepository budgetRepository;
+    private final MonthlyRollupRepository rollupRepository;
+    private final CacheManager cacheManager;
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatus> getStatuses(Long userId, YearMonth month) {
+        Map<Category, BigDecimal> limits = limitsFor(userId);
+        if (limits.isEmpty()) {
+            return List.of();
+        }
+        MonthSpend spend = spendFor(userId, month);
+        return limits.entrySet().stream()
+                .map(limit -> status(limit.getKey(), month, limit.getValue(), spend))
+                .toList();
+    }
+
+    // Creates or replaces the category's limit; answers with the current month's status
+    public BudgetStatus setBudget(Long userId, Category category, BudgetRequest request) {
+        if (category.getType() != TransactionType.EXPENSE) {
+            throw new BadRequestException("Budgets apply to expense categories only, not " + category);
+        }
+        Budget budget = budgetRepository.findByUserIdAndCategory(userId, category).orElseGet(() -> {
+            Budget created = new Budget();
+            created.setUserId(userId);
+            created.setCategory(category);
+            return created;
+        });
+        budget.setMonthlyLimit(request.getMonthlyLimit());
+        budgetRepository.save(budget);
+        evictLimits(userId);
+
+        YearMonth month = YearMonth.now();
+        return status(category, month, request.getMonthlyLimit(), spendFor(userId, month));
+    }
+
+    public void deleteBudget(Long userId, Category category) {
+        Budget budget = budgetRepository.findByUserIdAndCategory(userId, category)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget", "category", category));
+        budgetRepository.delete(budget);
+        evictLimits(userId);
+    }
+
+    /**
+     * Status of the budget a just-written transaction counts against, or null if it has
+     * none. Call after the rollup update so the counter includes the transaction.
+     */
+    public BudgetStatus evaluate(Long userId, TransactionType type, Category category, LocalDate date) {
+        if (type != TransactionType.EXPENSE) {
+            return null;
+        }
+        BigDecimal limit = limitsFor(userId).get(category);
+        if (limit == null) {
+            return null;
+        }
+        YearMonth month = YearMonth.from(date);
+        return status(category, month, limit, spendFor(userId, month));
+    }
+
+    // Called by RollupService with every rollup delta, inside the writing transaction
+    public void record(Long userId, LocalDate date, TransactionType type, Category category, BigDecimal amount) {
+        if (type != TransactionType.EXPENSE) {
+            return;
+        }
+        MonthSpend spend = cacheManager.getCache(SPEND_CACHE)
+                .get(new SpendKey(userId, YearMonth.from(date)), MonthSpend.class);
+        if (spend == null) {
+            return;  // Not loaded; the next load reads the committed rollups
+        }
+        long cents = CategoryCents.toCents(amount);
+        spend.add(category, cents);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        spend.add(category, -cents);
+                    }
+                }
+            });
+        }
+    }
+
+    // Budgets reference the user by id only, so they are not removed by the user cascade
+    public void deleteForUser(Long userId) {
+        budgetRepository.deleteByUserId(userId);
+        evictLimits(userId);
+        evictCounters(userId);
+    }
+
+    // After a rollup rebuild the user's counters may be off; inside a transaction this runs after commit
+    public void evictCounters(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeCounters(userId);
+                }
+            });
+        } else {
+            removeCounters(userId);
+        }
+    }
+
+    private Map<Category, BigDecimal> limitsFor(Long userId) {
+        return cacheManager.getCache(BUDGET_CACHE).get(userId, () -> {
+            Map<Category, BigDecimal> limits = new EnumMap<>(Category.class);
+            budgetRepository.findByUserId(userId)
+                    .forEach(budget -> limits.put(budget.getCategory(), budget.getMonthlyLimit()));
+            return Collections.unmodifiableMap(limits);
+        });
+    }
+
+    // Inside a write the rollups may include this transaction's uncommitted changes, which a
+    // rollback would not take back from a cached counter, so such loads are not cached
+    private MonthSpend spendFor(Long userId, YearMonth month) {
+        Cache cache = cacheManager.getCache(SPEND_CACHE);
+        SpendKey key = new SpendKey(userId, month);
+        MonthSpend spend = cache.get(key, MonthSpend.class);
+        if (spend != null) {
+            return spend;
+        }
+
+        spend = new MonthSpend();
+        for (MonthlyRollup rollup : rollupRepository.findByUserIdAndMonthStart(userId, month.atDay(1))) {
+            if (rollup.getType() == TransactionType.EXPENSE) {
+                spend.add(rollup.getCategory(), CategoryCents.toCents(rollup.getTotal()));
+            }
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Cache.ValueWrapper existing = cache.putIfAbsent(key, spend);
+            if (existing != null) {
+                return (MonthSpend) existing.get();
+            }
+        }
+        return spend;
+    }
+
+    // Counters are keyed per (user, month); only the native cache can list a user's months
+    private void removeCounters(Long userId) {
+        Cache cache = cacheManager.getCache(SPEND_CACHE);
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> counters) {
+            counters.asMap().keySet().removeIf(key -> key instanceof SpendKey spend && spend.userId().equals(userId));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private void evictLimits(Long userId) {
+        new TransactionAwareCacheDecorator(cacheManager.getCache(BUDGET_CACHE)).evict(userId);
+    }
+
+    private static BudgetStatus status(Category category, YearMonth month, BigDecimal limit, MonthSpend spend) {
+        BigDecimal spent = CategoryCents.toAmount(spend.cents(category));
+        BigDecimal remaining = limit.subtract(spent);
+        return BudgetStatus.builder()
+                .category(category)
+                .month(month)
+                .monthlyLimit(limit)
+                .spent(spent)
+                .remaining(remaining)
+                .overspent(remaining.signum() < 0)
+                .build();
+    }
+
+    private record SpendKey(Long userId, YearMonth month) {}
+}
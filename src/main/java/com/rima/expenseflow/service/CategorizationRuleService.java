@@ -0,0 +1,108 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.CategorizationRuleRequest;
+import com.rima.expenseflow.dto.CategorizationRuleResponse;
+import com.rima.expenseflow.exception.BadRequestException;
+import com.rima.expenseflow.exception.ResourceNotFoundException;
+import com.rima.expenseflow.model.CategorizationRule;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.repository.CategorizationRuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CategorizationRuleService {
+
+    static final int MAX_RULES = 5000;
+    // Regex rules are tried one by one after the single keyword pass, so they are capped
+    static final int MAX_REGEX_RULES = 50;
+
+    private final CategorizationRuleRepository ruleRepository;
+    private final CategorizationService categorizationService;
+
+    @Transactional(readOnly = true)
+    public List<CategorizationRuleResponse> getRules(Long userId) {
+        return ruleRepository.findByUserIdOrderByPriorityAscIdAsc(userId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public CategorizationRuleResponse createRule(Long userId, CategorizationRuleRequest request) {
+        if (ruleRepository.countByUserId(userId) >= MAX_RULES) {
+            throw new BadRequestException("A user can have at most " + MAX_RULES + " rules");
+        }
+        CategorizationRule rule = new CategorizationRule();
+        rule.setUserId(userId);
+        apply(rule, request);
+
+        CategorizationRule saved = ruleRepository.save(rule);
+        categorizationService.evict(userId);
+        return mapToResponse(saved);
+    }
+
+    public CategorizationRuleResponse updateRule(Long userId, Long ruleId, CategorizationRuleRequest request) {
+        CategorizationRule rule = findOwnedRule(userId, ruleId);
+        apply(rule, request);
+
+        CategorizationRule updated = ruleRepository.save(rule);
+        categorizationService.evict(userId);
+        return mapToResponse(updated);
+    }
+
+    public void deleteRule(Long userId, Long ruleId) {
+        ruleRepository.delete(findOwnedRule(userId, ruleId));
+        categorizationService.evict(userId);
+    }
+
+    private void apply(CategorizationRule rule, CategorizationRuleRequest request) {
+        RuleMatchType matchType = request.getMatchType() != null ? request.getMatchType() : RuleMatchType.CONTAINS;
+        String pattern = matchType == RuleMatchType.CONTAINS ? request.getPattern().strip() : request.getPattern();
+
+        if (request.getType() != null && request.getType() != request.getCategory().getType()) {
+            throw new BadRequestException("Category " + request.getCategory() + " is not a "
+                    + request.getType() + " category");
+        }
+        if (request.getMinAmount() != null && request.getMaxAmount() != null
+                && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+            throw new BadRequestException("Minimum amount must not exceed maximum amount");
+        }
+        if (matchType == RuleMatchType.REGEX) {
+            try {
+                CategoryMatcher.compileRegex(pattern);
+            } catch (PatternSyntaxException e) {
+                throw new BadRequestException("Invalid regular expression: " + e.getDescription());
+            }
+            boolean wasRegex = rule.getMatchType() == RuleMatchType.REGEX;
+            if (!wasRegex && ruleRepository.countByUserIdAndMatchType(rule.getUserId(), RuleMatchType.REGEX)
+                    >= MAX_REGEX_RULES) {
+                throw new BadRequestException("A user can have at most " + MAX_REGEX_RULES + " REGEX rules");
+            }
+        }
+
+        rule.setPattern(pattern);
+        rule.setMatchType(matchType);
+        rule.setCategory(request.getCategory());
+        rule.setType(request.getCategory().getType());
+        rule.setMinAmount(request.getMinAmount());
+        rule.setMaxAmount(request.getMaxAmount());
+        rule.setPriority(request.getPriority());
+    }
+
+    // Ownership is part of the query: another user's id reads as not found
+    private CategorizationRule findOwnedRule(Long userId, Long ruleId) {
+        return ruleRepository.findByIdAndUserId(ruleId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("CategorizationRule", "id", ruleId));
+    }
+
+    private CategorizationRuleResponse mapToResponse(CategorizationRule rule) {
+        return new CategorizationRuleResponse(rule.getId(), rule.getPattern(), rule.getMatchType(),
+                rule.getType(), rule.getCategory(), rule.getMinAmount(), rule.getMaxAmount(),
+                rule.getPriority(), rule.getCreatedAt(), rule.getUpdatedAt());
+    }
+}
@@ -0,0 +1,41 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.repository.CategorizationRuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Hands out each user's compiled CategoryMatcher. Compiling reads all of the user's rules,
+ * so matchers are cached (see CategoryMatcherCacheConfig) and evicted when rules change.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategorizationService {
+
+    public static final String MATCHER_CACHE = "categoryMatchers";
+
+    private final CategorizationRuleRepository ruleRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = MATCHER_CACHE, key = "#userId")
+    @Transactional(readOnly = true)
+    public CategoryMatcher matcherFor(Long userId) {
+        return CategoryMatcher.compile(ruleRepository.findByUserIdOrderByPriorityAscIdAsc(userId));
+    }
+
+    // Rules reference the user by id only, so they are not removed by the user cascade
+    @Transactional
+    public void deleteForUser(Long userId) {
+        ruleRepository.deleteByUserId(userId);
+        evict(userId);
+    }
+
+    // Call whenever a user's rules change; inside a transaction the eviction runs after commit
+    public void evict(Long userId) {
+        new TransactionAwareCacheDecorator(cacheManager.getCache(MATCHER_CACHE)).evict(userId);
+    }
+}
@@ -0,0 +1,79 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Income and expense totals per category, as long cents in flat arrays indexed by
+ * TransactionType and Category ordinal. Adding a bucket is two long additions; the
+ * BigDecimal totals and String-keyed maps the DTOs carry are only built by the read
+ * methods, once per fold.
+ *
+ * Amounts are numeric(12, 2), so a long holds the sum of any number of them.
+ */
+final class CategoryCents {
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long[] cents = new long[TYPES.length * CATEGORIES.length];
+    private final long[] typeCents = new long[TYPES.length];
+    // Slots that received a bucket, so categories seen with a zero total are still listed
+    private final boolean[] seen = new boolean[TYPES.length * CATEGORIES.length];
+    private long count;
+
+    // Rollup buckets emptied by deletes or category moves count towards nothing and are not listed
+    void add(CategoryTotal bucket) {
+        if (bucket.getCount() == 0) {
+            return;
+        }
+        add(bucket.getType(), bucket.getCategory(), toCents(bucket.getTotal()), bucket.getCount());
+    }
+
+    void add(TransactionType type, Category category, long amountCents, long transactions) {
+        int slot = type.ordinal() * CATEGORIES.length + category.ordinal();
+        cents[slot] += amountCents;
+        seen[slot] = true;
+        typeCents[type.ordinal()] += amountCents;
+        count += transactions;
+    }
+
+    BigDecimal total(TransactionType type) {
+        return toAmount(typeCents[type.ordinal()]);
+    }
+
+    BigDecimal net() {
+        return toAmount(typeCents[TransactionType.INCOME.ordinal()] - typeCents[TransactionType.EXPENSE.ordinal()]);
+    }
+
+    long count() {
+        return count;
+    }
+
+    // Category name to total, for the categories of this type that received a bucket
+    Map<String, BigDecimal> byCategory(TransactionType type) {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        int base = type.ordinal() * CATEGORIES.length;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (seen[base + i]) {
+                totals.put(CATEGORIES[i].name(), toAmount(cents[base + i]));
+            }
+        }
+        return totals;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Zero stays unscaled, as the BigDecimal.ZERO the folds used to start from
+    static BigDecimal toAmount(long cents) {
+        return cents == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,139 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.CategorizationRule;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.util.AhoCorasick;
+import com.rima.expenseflow.util.StepLimitedCharSequence;
+import com.rima.expenseflow.util.StepLimitedCharSequence.StepLimitExceededException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A user's categorization rules compiled for lookup. All CONTAINS patterns share one
+ * Aho-Corasick automaton, so a description is scanned once regardless of the rule count.
+ * REGEX rules (capped per user) are tried afterwards, and only those ranked above the
+ * best substring match. Immutable; cached per user by CategorizationService.
+ *
+ * Each regex attempt may read at most MAX_REGEX_STEPS characters of the description. A
+ * pattern that backtracks past that, such as (a+)+$, is cut off and counts as no match, so
+ * one bad rule costs a bounded amount per transaction rather than stalling an import.
+ */
+public final class CategoryMatcher {
+
+    static final CategoryMatcher EMPTY = compile(List.of());
+    // Well above what a linear pattern needs for a description; roughly a millisecond at worst
+    static final int MAX_REGEX_STEPS = 100_000;
+
+    private final Rule[] rules;           // By rank: priority, then id
+    private final AhoCorasick keywords;
+    private final int[][] keywordRanks;   // Keyword index -> ranks of the rules using it
+    private final int[] regexRanks;       // Ascending
+
+    private CategoryMatcher(Rule[] rules, AhoCorasick keywords, int[][] keywordRanks, int[] regexRanks) {
+        this.rules = rules;
+        this.keywords = keywords;
+        this.keywordRanks = keywordRanks;
+        this.regexRanks = regexRanks;
+    }
+
+    /**
+     * @param rules in evaluation order (priority, then id), as the repository returns them
+     */
+    public static CategoryMatcher compile(List<CategorizationRule> rules) {
+        Rule[] compiled = new Rule[rules.size()];
+        Map<String, List<Integer>> ranksByKeyword = new LinkedHashMap<>();
+        List<Integer> regexRanks = new ArrayList<>();
+
+        for (int rank = 0; rank < compiled.length; rank++) {
+            CategorizationRule rule = rules.get(rank);
+            boolean regex = rule.getMatchType() == RuleMatchType.REGEX;
+            compiled[rank] = new Rule(rule.getType(), rule.getCategory(), rule.getMinAmount(),
+                    rule.getMaxAmount(), regex ? compileRegex(rule.getPattern()) : null);
+            if (regex) {
+                regexRanks.add(rank);
+            } else {
+                ranksByKeyword.computeIfAbsent(AhoCorasick.normalize(rule.getPattern()),
+                        k -> new ArrayList<>()).add(rank);
+            }
+        }
+
+        int[][] keywordRanks = ranksByKeyword.values().stream()
+                .map(ranks -> ranks.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        return new CategoryMatcher(compiled, new AhoCorasick(new ArrayList<>(ranksByKeyword.keySet())),
+                keywordRanks, regexRanks.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // Case-insensitive, like CONTAINS rules; throws PatternSyntaxException
+    static Pattern compileRegex(String pattern) {
+        return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * The category of the best-ranked rule matching the transaction, or the type's
+     * OTHER_* category when none does.
+     */
+    public Category categorize(String description, BigDecimal amount, TransactionType type) {
+        int[] best = {Integer.MAX_VALUE};
+        keywords.match(description, keyword -> {
+            for (int rank : keywordRanks[keyword]) {
+                if (rank >= best[0]) {
+                    break;
+                }
+                if (rules[rank].accepts(amount, type)) {
+                    best[0] = rank;
+                }
+            }
+        });
+
+        StepLimitedCharSequence text = null;
+        for (int rank : regexRanks) {
+            if (rank >= best[0]) {
+                break;
+            }
+            Rule rule = rules[rank];
+            if (!rule.accepts(amount, type)) {
+                continue;
+            }
+            if (text == null) {
+                text = new StepLimitedCharSequence(description, MAX_REGEX_STEPS);
+            }
+            if (find(rule.regex(), text.reset())) {
+                best[0] = rank;
+                break;
+            }
+        }
+
+        return best[0] == Integer.MAX_VALUE ? Category.fallback(type) : rules[best[0]].category();
+    }
+
+    private static boolean find(Pattern regex, StepLimitedCharSequence text) {
+        try {
+            return regex.matcher(text).find();
+        } catch (StepLimitExceededException e) {
+            return false;
+        }
+    }
+
+    // Rule count plus automaton states, roughly proportional to memory; used as cache weight
+    public int weight() {
+        return rules.length + keywords.size();
+    }
+
+    private record Rule(TransactionType type, Category category, BigDecimal minAmount,
+                        BigDecimal maxAmount, Pattern regex) {
+
+        boolean accepts(BigDecimal amount, TransactionType transactionType) {
+            return type == transactionType
+                    && (minAmount == null || amount.compareTo(minAmount) >= 0)
+                    && (maxAmount == null || amount.compareTo(maxAmount) <= 0);
+        }
+    }
+}
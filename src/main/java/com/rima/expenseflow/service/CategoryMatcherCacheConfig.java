@@ -0,0 +1,30 @@
+package com.rima.expenseflow.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Matchers vary from a few bytes to megabytes, so unlike the principal cache this one is
+ * bounded by total weight (rules plus automaton states) rather than by entry count.
+ */
+@Configuration
+public class CategoryMatcherCacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> categoryMatcherCache(
+            @Value("${expenseflow.categorization.cache-max-weight:2000000}") long maxWeight) {
+        return cacheManager -> cacheManager.registerCustomCache(CategorizationService.MATCHER_CACHE,
+                Caffeine.newBuilder()
+                        .maximumWeight(maxWeight)
+                        .weigher((Object userId, Object matcher) -> ((CategoryMatcher) matcher).weight())
+                        .expireAfterAccess(Duration.ofMinutes(30))
+                        .recordStats()
+                        .build());
+    }
+}
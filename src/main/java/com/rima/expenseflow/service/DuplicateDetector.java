@@ -0,0 +1,106 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.TransactionFingerprint;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.util.BloomFilter;
+import com.rima.expenseflow.util.CachedBloomFilters;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprint lookups for DuplicatePolicy FLAG and SKIP. Unless expenseflow.duplicates.bloom-filter
+ * is off, each user's fingerprints are summarized in a cached Bloom filter, so only fingerprints
+ * the filter cannot rule out are looked up; importing a statement with no overlap costs no
+ * lookups at all. A filter is filled from the database on first use and then kept current by
+ * record(). Deleted or rolled-back rows may still answer "maybe", which only costs a lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuplicateDetector {
+
+    public static final String FILTER_CACHE = "fingerprintFilters";
+    static final long MIN_CAPACITY = 10_000;
+    private static final int BACKFILL_BATCH = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+
+    @Value("${expenseflow.duplicates.bloom-filter:true}")
+    private boolean bloomFilterEnabled;
+
+    // Those of the given fingerprints the user already has
+    @Transactional(readOnly = true)
+    public Set<String> findExisting(Long userId, Collection<String> fingerprints) {
+        Collection<String> candidates = fingerprints;
+        if (bloomFilterEnabled) {
+            BloomFilter filter = filterFor(userId);
+            candidates = fingerprints.stream()
+                    .filter(fingerprint -> filter.mightContain(
+                            TransactionFingerprint.high(fingerprint), TransactionFingerprint.low(fingerprint)))
+                    .toList();
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(transactionRepository.findExistingFingerprints(userId, candidates));
+    }
+
+    // Call with the fingerprints of newly stored or updated transactions
+    public void record(Long userId, Collection<String> fingerprints) {
+        CachedBloomFilters.putIfLoaded(cacheManager.getCache(FILTER_CACHE), userId, filter -> {
+            for (String fingerprint : fingerprints) {
+                filter.put(TransactionFingerprint.high(fingerprint), TransactionFingerprint.low(fingerprint));
+            }
+        });
+    }
+
+    /**
+     * Fingerprint the user's rows written before the column existed. Until then those rows
+     * are invisible to duplicate detection.
+     */
+    @Transactional
+    public int backfill(Long userId) {
+        int updated = 0;
+        List<Transaction> batch;
+        while (!(batch = transactionRepository.findWithoutFingerprint(userId, PageRequest.of(0, BACKFILL_BATCH)))
+                .isEmpty()) {
+            batch.forEach(transaction -> transaction.setFingerprint(TransactionFingerprint.of(transaction)));
+            updated += batch.size();
+            entityManager.flush();
+            entityManager.clear();
+        }
+        new TransactionAwareCacheDecorator(cacheManager.getCache(FILTER_CACHE)).evict(userId);
+        return updated;
+    }
+
+    private BloomFilter filterFor(Long userId) {
+        return cacheManager.getCache(FILTER_CACHE).get(userId, () -> load(userId));
+    }
+
+    private BloomFilter load(Long userId) {
+        long rows = transactionRepository.countByUserId(userId);
+        BloomFilter filter = CachedBloomFilters.sizedFor(rows, MIN_CAPACITY);
+        try (Stream<String> fingerprints = transactionRepository.streamFingerprints(userId)) {
+            fingerprints.forEach(fingerprint -> filter.put(
+                    TransactionFingerprint.high(fingerprint), TransactionFingerprint.low(fingerprint)));
+        }
+        log.debug("Loaded fingerprint filter for user {}: {} rows, {} bytes", userId, rows, filter.sizeInBytes());
+        return filter;
+    }
+}
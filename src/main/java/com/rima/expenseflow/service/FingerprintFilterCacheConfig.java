@@ -0,0 +1,32 @@
+package com.rima.expenseflow.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rima.expenseflow.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Per-user Bloom filters for DuplicateDetector, bounded by their total size in bytes
+ * (about 1.2 bytes per stored transaction).
+ */
+@Configuration
+public class FingerprintFilterCacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> fingerprintFilterCache(
+            @Value("${expenseflow.duplicates.filter-cache-max-bytes:67108864}") long maxBytes) {
+        return cacheManager -> cacheManager.registerCustomCache(DuplicateDetector.FILTER_CACHE,
+                Caffeine.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .weigher((Object userId, Object filter) ->
+                                (int) Math.min(Integer.MAX_VALUE, ((BloomFilter) filter).sizeInBytes()))
+                        .expireAfterAccess(Duration.ofMinutes(30))
+                        .recordStats()
+                        .build());
+    }
+}
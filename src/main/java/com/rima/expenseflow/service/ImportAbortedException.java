@@ -0,0 +1,30 @@
+package com.rima.expenseflow.service;
+
+/**
+ * A chunk-committed import that failed after some of its chunks were committed. The
+ * cause is the original failure; the committed rows stay stored.
+ */
+class ImportAbortedException extends RuntimeException {
+
+    private final int imported;
+    private final int lastCommittedRow;
+
+    ImportAbortedException(RuntimeException cause, int imported, int lastCommittedRow) {
+        super(cause.getMessage(), cause);
+        this.imported = imported;
+        this.lastCommittedRow = lastCommittedRow;
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+        return (RuntimeException) super.getCause();
+    }
+
+    int getImported() {
+        return imported;
+    }
+
+    int getLastCommittedRow() {
+        return lastCommittedRow;
+    }
+}
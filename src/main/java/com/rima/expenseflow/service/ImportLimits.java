@@ -0,0 +1,9 @@
+package com.rima.expenseflow.service;
+
+/**
+ * Bounds for one import run. Statement uploads can run to millions of rows, so they list
+ * rejected rows only, and at most maxReportedErrors of them, and commit chunk by chunk
+ * (commitPerChunk) instead of holding one transaction for the whole file.
+ */
+public record ImportLimits(int maxRows, boolean reportImportedRows, int maxReportedErrors, boolean commitPerChunk) {
+}
@@ -0,0 +1,20 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.TransactionRequest;
+
+import java.util.List;
+
+/**
+ * One row handed to TransactionImportService by a source format (JSON, NDJSON, ...).
+ * A row the source could not read carries its errors and no request.
+ */
+public record ImportRow(int row, TransactionRequest request, List<String> errors) {
+
+    public static ImportRow parsed(int row, TransactionRequest request) {
+        return new ImportRow(row, request, List.of());
+    }
+
+    public static ImportRow unreadable(int row, String error) {
+        return new ImportRow(row, null, List.of(error));
+    }
+}
@@ -0,0 +1,38 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running expense totals of one user and month, in cents, one counter per expense
+ * category. The map is filled once and never changes shape, so concurrent writers only
+ * contend on the LongAdder cells.
+ */
+final class MonthSpend {
+
+    private final Map<Category, LongAdder> cents = new EnumMap<>(Category.class);
+
+    MonthSpend() {
+        for (Category category : Category.values()) {
+            if (category.getType() == TransactionType.EXPENSE) {
+                cents.put(category, new LongAdder());
+            }
+        }
+    }
+
+    void add(Category category, long delta) {
+        LongAdder counter = cents.get(category);
+        if (counter != null) {
+            counter.add(delta);
+        }
+    }
+
+    long cents(Category category) {
+        LongAdder counter = cents.get(category);
+        return counter != null ? counter.sum() : 0;
+    }
+}
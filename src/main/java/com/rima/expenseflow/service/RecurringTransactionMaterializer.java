@@ -0,0 +1,119 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.RecurringTransaction;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.TransactionFingerprint;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.RecurringTransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns due occurrences of recurring templates into transactions, one batch of templates
+ * per database transaction. The transactions, the templates' advanced schedules and the
+ * rollup deltas commit together, so a batch interrupted by a crash or restart leaves its
+ * templates due and is simply done again by the next run; nothing is created twice.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringTransactionMaterializer {
+
+    // Occurrences per template per batch; a template further behind stays due for the next batch
+    static final int MAX_OCCURRENCES_PER_BATCH = 400;
+    // Inserts flushed (as JDBC batches) and detached every FLUSH_EVERY transactions
+    private static final int FLUSH_EVERY = 500;
+
+    private final RecurringTransactionRepository recurringRepository;
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final CategorizationService categorizationService;
+    private final DuplicateDetector duplicateDetector;
+    private final EntityManager entityManager;
+
+    public record BatchResult(int templates, int transactions) {
+    }
+
+    /**
+     * Materialize every occurrence up to today of the next batchSize due templates. Templates
+     * locked by a concurrent run or edit are skipped, and a result of zero templates means
+     * nothing else is due right now.
+     */
+    @Transactional
+    public BatchResult materializeBatch(LocalDate today, int batchSize) {
+        List<RecurringTransaction> due = recurringRepository.lockDue(today, PageRequest.of(0, batchSize));
+        Map<Long, RollupService.Batch> rollups = new HashMap<>();
+        Map<Long, List<String>> fingerprints = new HashMap<>();
+        Map<Long, CategoryMatcher> matchers = new HashMap<>();
+        Map<Long, Boolean> owners = new HashMap<>();
+        List<Transaction> unflushed = new ArrayList<>(FLUSH_EVERY);
+        int created = 0;
+
+        for (RecurringTransaction template : due) {
+            Long userId = template.getUserId();
+            // A template whose owner is gone would fail the foreign key and roll back the batch
+            if (!owners.computeIfAbsent(userId, userRepository::existsById)) {
+                log.warn("Deleting recurring template {} of deleted user {}", template.getId(), userId);
+                recurringRepository.delete(template);
+                continue;
+            }
+            User user = entityManager.getReference(User.class, userId);
+            for (int i = 0; i < MAX_OCCURRENCES_PER_BATCH
+                    && template.getNextRunDate() != null && !template.getNextRunDate().isAfter(today); i++) {
+                Transaction transaction = toTransaction(template, user, matchers);
+                entityManager.persist(transaction);
+                unflushed.add(transaction);
+                rollups.computeIfAbsent(userId, id -> new RollupService.Batch())
+                        .add(RollupService.Entry.of(transaction));
+                fingerprints.computeIfAbsent(userId, id -> new ArrayList<>())
+                        .add(TransactionFingerprint.of(transaction));
+
+                template.setLastRunDate(template.getNextRunDate());
+                template.scheduleOccurrence(template.getOccurrenceIndex() + 1);
+                created++;
+
+                if (unflushed.size() == FLUSH_EVERY) {
+                    flush(unflushed);
+                }
+            }
+        }
+        flush(unflushed);
+
+        rollups.forEach(rollupService::recordAll);
+        fingerprints.forEach(duplicateDetector::record);
+        return new BatchResult(due.size(), created);
+    }
+
+    // Detaches only the inserted transactions; the batch's templates stay managed until commit
+    private void flush(List<Transaction> unflushed) {
+        entityManager.flush();
+        unflushed.forEach(entityManager::detach);
+        unflushed.clear();
+    }
+
+    private Transaction toTransaction(RecurringTransaction template, User user, Map<Long, CategoryMatcher> matchers) {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(template.getAmount());
+        transaction.setDescription(template.getDescription());
+        transaction.setType(template.getType());
+        transaction.setCategory(template.getCategory() != null
+                ? template.getCategory()
+                : matchers.computeIfAbsent(template.getUserId(), categorizationService::matcherFor)
+                        .categorize(template.getDescription(), template.getAmount(), template.getType()));
+        transaction.setTransactionDate(template.getNextRunDate());
+        transaction.setNotes(template.getNotes());
+        transaction.setUser(user);
+        return transaction;
+    }
+}
@@ -0,0 +1,56 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.RecurringRunResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly materialization of recurring transactions for all users, at
+ * expenseflow.recurring.cron ("-" disables it). Due templates are taken in batches of
+ * expenseflow.recurring.batch-size, each committed on its own, until none is left.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringTransactionScheduler {
+
+    private final RecurringTransactionMaterializer materializer;
+
+    @Value("${expenseflow.recurring.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${expenseflow.recurring.cron:0 10 0 * * *}")
+    public void materializeDue() {
+        run(LocalDate.now());
+    }
+
+    public RecurringRunResponse run(LocalDate today) {
+        long started = System.nanoTime();
+        long templates = 0;
+        long transactions = 0;
+        int batches = 0;
+
+        RecurringTransactionMaterializer.BatchResult batch;
+        while ((batch = materializer.materializeBatch(today, batchSize)).templates() > 0) {
+            templates += batch.templates();
+            transactions += batch.transactions();
+            batches++;
+        }
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Recurring run for {}: {} transactions from {} templates in {} batches, {} ms",
+                today, transactions, templates, batches, millis);
+        return RecurringRunResponse.builder()
+                .runDate(today)
+                .templates(templates)
+                .transactionsCreated(transactions)
+                .batches(batches)
+                .durationMillis(millis)
+                .build();
+    }
+}
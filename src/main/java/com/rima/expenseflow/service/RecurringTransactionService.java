@@ -0,0 +1,117 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.RecurringTransactionRequest;
+import com.rima.expenseflow.dto.RecurringTransactionResponse;
+import com.rima.expenseflow.exception.BadRequestException;
+import com.rima.expenseflow.exception.ResourceNotFoundException;
+import com.rima.expenseflow.model.RecurringTransaction;
+import com.rima.expenseflow.repository.RecurringTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Recurring transaction templates. Occurrences are created by RecurringTransactionScheduler,
+ * not here; a template whose start date has passed is caught up on the next run.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecurringTransactionService {
+
+    static final int MAX_TEMPLATES = 500;
+    // How far back a new schedule may start, which bounds the catch-up on the next run
+    static final int MAX_BACKFILL_DAYS = 366;
+
+    private final RecurringTransactionRepository recurringRepository;
+
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionResponse> getTemplates(Long userId) {
+        return recurringRepository.findByUserIdOrderByIdAsc(userId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public RecurringTransactionResponse createTemplate(Long userId, RecurringTransactionRequest request) {
+        if (recurringRepository.countByUserId(userId) >= MAX_TEMPLATES) {
+            throw new BadRequestException("A user can have at most " + MAX_TEMPLATES + " recurring transactions");
+        }
+        RecurringTransaction template = new RecurringTransaction();
+        template.setUserId(userId);
+        apply(template, request);
+
+        return mapToResponse(recurringRepository.save(template));
+    }
+
+    public RecurringTransactionResponse updateTemplate(Long userId, Long templateId,
+                                                       RecurringTransactionRequest request) {
+        RecurringTransaction template = recurringRepository.lockByIdAndUserId(templateId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("RecurringTransaction", "id", templateId));
+        apply(template, request);
+
+        return mapToResponse(recurringRepository.save(template));
+    }
+
+    // Transactions already created from the template are kept
+    public void deleteTemplate(Long userId, Long templateId) {
+        RecurringTransaction template = recurringRepository.findByIdAndUserId(templateId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("RecurringTransaction", "id", templateId));
+        recurringRepository.delete(template);
+    }
+
+    // Reschedules from the first occurrence after the last materialized one, so changing
+    // the schedule never repeats a date that already has its transaction
+    private void apply(RecurringTransaction template, RecurringTransactionRequest request) {
+        if (request.getCategory() != null && request.getCategory().getType() != request.getType()) {
+            throw new BadRequestException("Category " + request.getCategory() + " is not a "
+                    + request.getType() + " category");
+        }
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        if (!request.getStartDate().equals(template.getStartDate())
+                && request.getStartDate().isBefore(LocalDate.now().minusDays(MAX_BACKFILL_DAYS))) {
+            throw new BadRequestException("Start date must be within the last " + MAX_BACKFILL_DAYS + " days");
+        }
+
+        template.setAmount(request.getAmount());
+        template.setDescription(request.getDescription());
+        template.setType(request.getType());
+        template.setCategory(request.getCategory());
+        template.setNotes(request.getNotes());
+        template.setFrequency(request.getFrequency());
+        template.setRepeatInterval(request.getInterval());
+        template.setStartDate(request.getStartDate());
+        template.setEndDate(request.getEndDate());
+
+        int n = 0;
+        LocalDate last = template.getLastRunDate();
+        while (last != null && !template.getFrequency()
+                .occurrence(template.getStartDate(), template.getRepeatInterval(), n).isAfter(last)) {
+            n++;
+        }
+        template.scheduleOccurrence(n);
+    }
+
+    private RecurringTransactionResponse mapToResponse(RecurringTransaction template) {
+        return RecurringTransactionResponse.builder()
+                .id(template.getId())
+                .amount(template.getAmount())
+                .description(template.getDescription())
+                .type(template.getType())
+                .category(template.getCategory())
+                .notes(template.getNotes())
+                .frequency(template.getFrequency())
+                .interval(template.getRepeatInterval())
+                .startDate(template.getStartDate())
+                .endDate(template.getEndDate())
+                .nextRunDate(template.getNextRunDate())
+                .lastRunDate(template.getLastRunDate())
+                .createdAt(template.getCreatedAt())
+                .updatedAt(template.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes every user's rollups at startup. Enable once after upgrading an
+ * existing database, or whenever verification reports drift:
+ * {@code --expenseflow.rollups.rebuild-on-startup=true}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "expenseflow.rollups.rebuild-on-startup", havingValue = "true")
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int users = 0;
+        int buckets = 0;
+        for (User user : userRepository.findAll()) {
+            buckets += rollupService.rebuild(user.getId()).getBucketsChecked();
+            users++;
+        }
+        log.info("Rebuilt {} rollup buckets for {} users", buckets, users);
+    }
+}
@@ -0,0 +1,227 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.RollupDrift;
+import com.rima.expenseflow.dto.RollupVerificationResponse;
+import com.rima.expenseflow.model.MonthlyRollup;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.BalanceSnapshotRepository;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.repository.projection.MonthlyCategoryTotal;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the monthly_rollups table in step with the transactions table, and drops the
+ * balance snapshot of any closed year a write touches.
+ * All methods join the caller's transaction, so a rollup change commits or
+ * rolls back together with the transaction write that caused it.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RollupService {
+
+    private final MonthlyRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final UserRepository userRepository;
+    private final BudgetService budgetService;
+    private final EntityManager entityManager;
+
+    /**
+     * The rollup-relevant values of a transaction, captured before an update mutates it.
+     */
+    public record Entry(LocalDate date, TransactionType type, Category category, BigDecimal amount) {
+
+        public static Entry of(Transaction transaction) {
+            return new Entry(
+                    transaction.getTransactionDate(),
+                    transaction.getType(),
+                    transaction.getCategory(),
+                    transaction.getAmount()
+            );
+        }
+
+        boolean sameBucket(Entry other) {
+            return YearMonth.from(date).equals(YearMonth.from(other.date))
+                    && type == other.type
+                    && category == other.category;
+        }
+    }
+
+    public void record(Long userId, Entry entry) {
+        apply(userId, entry, entry.amount(), 1);
+    }
+
+    public void remove(Long userId, Entry entry) {
+        apply(userId, entry, entry.amount().negate(), -1);
+    }
+
+    /**
+     * Per-bucket sums of new transactions, for writers that insert many rows at once.
+     * Holds one {cents, count} pair per (month, type, category), however many rows are added.
+     */
+    public static final class Batch {
+
+        private final Map<BucketKey, long[]> totals = new HashMap<>();
+
+        public void add(Entry entry) {
+            long[] bucket = totals.computeIfAbsent(
+                    new BucketKey(YearMonth.from(entry.date()), entry.type(), entry.category()), key -> new long[2]);
+            bucket[0] += CategoryCents.toCents(entry.amount());
+            bucket[1]++;
+        }
+    }
+
+    /**
+     * Apply a batch with one relative update per touched bucket.
+     */
+    public void recordAll(Long userId, Batch batch) {
+        batch.totals.forEach((key, bucket) -> {
+            BigDecimal total = CategoryCents.toAmount(bucket[0]);
+            apply(userId, new Entry(key.month().atDay(1), key.type(), key.category(), total), total, bucket[1]);
+        });
+        batch.totals.clear();
+    }
+
+    public void move(Long userId, Entry before, Entry after) {
+        if (before.sameBucket(after)) {
+            // Same bucket: only the amount difference matters
+            BigDecimal delta = after.amount().subtract(before.amount());
+            if (delta.signum() != 0) {
+                apply(userId, after, delta, 0);
+            }
+            return;
+        }
+        remove(userId, before);
+        record(userId, after);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyRollup> getMonth(Long userId, YearMonth month) {
+        return rollupRepository.findByUserIdAndMonthStart(userId, month.atDay(1));
+    }
+
+    /**
+     * Recompute a user's rollups from the transactions table, discarding whatever was stored.
+     */
+    public RollupVerificationResponse rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        snapshotRepository.deleteByUserId(userId);
+        budgetService.evictCounters(userId);
+
+        List<MonthlyCategoryTotal> totals = transactionRepository.summarizeByMonth(userId);
+        List<MonthlyRollup> rollups = new ArrayList<>(totals.size());
+        for (MonthlyCategoryTotal total : totals) {
+            MonthlyRollup rollup = new MonthlyRollup();
+            rollup.setUserId(userId);
+            rollup.setMonthStart(LocalDate.of(total.getPeriodYear(), total.getPeriodMonth(), 1));
+            rollup.setType(total.getType());
+            rollup.setCategory(total.getCategory());
+            rollup.setTotal(total.getTotal());
+            rollup.setCount(total.getCount());
+            rollups.add(rollup);
+        }
+        rollupRepository.saveAll(rollups);
+
+        return RollupVerificationResponse.builder()
+                .userId(userId)
+                .bucketsChecked(rollups.size())
+                .consistent(true)
+                .drifts(List.of())
+                .build();
+    }
+
+    /**
+     * Compare stored rollups with a fresh aggregate of the transactions table.
+     */
+    @Transactional(readOnly = true)
+    public RollupVerificationResponse verify(Long userId) {
+        Map<BucketKey, MonthlyRollup> stored = new HashMap<>();
+        for (MonthlyRollup rollup : rollupRepository.findByUserId(userId)) {
+            stored.put(new BucketKey(YearMonth.from(rollup.getMonthStart()), rollup.getType(), rollup.getCategory()), rollup);
+        }
+
+        List<RollupDrift> drifts = new ArrayList<>();
+        Set<BucketKey> seen = new HashSet<>();
+        for (MonthlyCategoryTotal expected : transactionRepository.summarizeByMonth(userId)) {
+            BucketKey key = new BucketKey(
+                    YearMonth.of(expected.getPeriodYear(), expected.getPeriodMonth()),
+                    expected.getType(),
+                    expected.getCategory()
+            );
+            seen.add(key);
+            MonthlyRollup actual = stored.get(key);
+            BigDecimal actualTotal = actual != null ? actual.getTotal() : BigDecimal.ZERO;
+            long actualCount = actual != null ? actual.getCount() : 0;
+            if (actualTotal.compareTo(expected.getTotal()) != 0 || actualCount != expected.getCount()) {
+                drifts.add(new RollupDrift(key.month(), key.type(), key.category(),
+                        expected.getTotal(), actualTotal, expected.getCount(), actualCount));
+            }
+        }
+
+        // Buckets that still hold something although no transaction backs them
+        stored.forEach((key, actual) -> {
+            if (!seen.contains(key) && (actual.getCount() != 0 || actual.getTotal().signum() != 0)) {
+                drifts.add(new RollupDrift(key.month(), key.type(), key.category(),
+                        BigDecimal.ZERO, actual.getTotal(), 0, actual.getCount()));
+            }
+        });
+
+        Set<BucketKey> checked = new HashSet<>(stored.keySet());
+        checked.addAll(seen);
+
+        return RollupVerificationResponse.builder()
+                .userId(userId)
+                .bucketsChecked(checked.size())
+                .consistent(drifts.isEmpty())
+                .drifts(drifts)
+                .build();
+    }
+
+    public void deleteForUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        snapshotRepository.deleteByUserId(userId);
+    }
+
+    // Relative update first; the unique constraint on the bucket rejects a concurrent duplicate insert.
+    // A freshly inserted bucket is detached so a later relative update in the same transaction
+    // cannot be shadowed by a stale managed copy.
+    // A bucket in a closed year also drops that year's balance snapshot, which is rebuilt
+    // from the rollups on the next balance read. The shared user lock, held to commit, keeps
+    // a snapshot from being built meanwhile (see BalanceService). Budget counters get the same delta.
+    private void apply(Long userId, Entry entry, BigDecimal amount, long count) {
+        LocalDate monthStart = entry.date().withDayOfMonth(1);
+        if (monthStart.getYear() < Year.now().getValue()) {
+            userRepository.lockForClosedYearWrite(userId);
+            snapshotRepository.deleteByUserIdAndPeriodYear(userId, monthStart.getYear());
+        }
+        budgetService.record(userId, monthStart, entry.type(), entry.category(), amount);
+        int updated = rollupRepository.applyDelta(
+                userId, monthStart, entry.type(), entry.category(), amount, count);
+        if (updated == 0) {
+            MonthlyRollup created = rollupRepository.saveAndFlush(new MonthlyRollup(
+                    null, userId, monthStart, entry.type(), entry.category(), amount, count));
+            entityManager.detach(created);
+        }
+    }
+
+    private record BucketKey(YearMonth month, TransactionType type, Category category) {}
+}
@@ -0,0 +1,337 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.ImportReport;
+import com.rima.expenseflow.dto.StatementImportOptions;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.exception.BadRequestException;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.util.CsvFormatException;
+import com.rima.expenseflow.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Bank statement upload. The CSV body is parsed one record at a time and each record is
+ * handed to TransactionImportService as it is read, so the request stream is only read
+ * as fast as rows are persisted and memory stays flat however large the file is. Only
+ * rejected rows are reported, up to MAX_REPORTED_ERRORS of them.
+ *
+ * Rows are committed CHUNK_SIZE at a time. A file that turns out to be unreadable part
+ * way is rejected with the number of rows already kept, so that it can be fixed and
+ * uploaded again with duplicates=SKIP.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementImportService {
+
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_DESCRIPTION_LENGTH = 200;
+    private static final int PROGRESS_EVERY = 50_000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionImportService transactionImportService;
+
+    @Value("${expenseflow.statements.max-rows:2000000}")
+    private int maxRows;
+
+    /**
+     * Import a CSV statement. Rows whose fields do not parse or validate are reported by
+     * line and skipped; a file that is not valid CSV is rejected as a whole.
+     *
+     * @param contentLength request size in bytes, or -1 if unknown; only used for progress logs
+     */
+    public ImportReport importCsv(Long userId, StatementImportOptions options, DuplicatePolicy duplicates,
+                                  InputStream body, long contentLength) {
+        CountingInputStream counted = new CountingInputStream(body);
+        CsvReader reader = new CsvReader(new BufferedReader(
+                new InputStreamReader(counted, StandardCharsets.UTF_8), READ_BUFFER_SIZE),
+                options.getDelimiter(), MAX_RECORD_LENGTH);
+
+        try {
+            StatementRows rows = new StatementRows(reader, options, userId, counted, contentLength);
+            ImportReport report = transactionImportService.importRows(userId, rows,
+                    new ImportLimits(maxRows, false, MAX_REPORTED_ERRORS, true), duplicates);
+            log.info("Statement import for user {} finished: {} imported, {} rejected, {} duplicates, {} MB read",
+                    userId, report.getImported(), report.getRejected(), report.getDuplicates(),
+                    megabytes(counted.count));
+            return report;
+        } catch (ImportAbortedException e) {
+            log.warn("Statement import for user {} failed after {} rows were committed (through line {})",
+                    userId, e.getImported(), e.getLastCommittedRow());
+            RuntimeException failure = readFailure(e.getCause());
+            if (failure == e.getCause()) {
+                throw failure;
+            }
+            throw new BadRequestException(failure.getMessage() + ". " + e.getImported()
+                    + " rows up to line " + e.getLastCommittedRow() + " were imported and kept;"
+                    + " upload the corrected file with duplicates=SKIP to import the rest");
+        } catch (IOException | RuntimeException e) {
+            throw readFailure(e);
+        }
+    }
+
+    // Unreadable input becomes a BadRequestException; anything else is returned as is
+    private static RuntimeException readFailure(Exception e) {
+        if (e instanceof CsvFormatException || e instanceof BadRequestException) {
+            return new BadRequestException(e.getMessage());
+        }
+        if (e instanceof IOException || e instanceof UncheckedIOException) {
+            return new BadRequestException("Statement could not be read: " + e.getMessage());
+        }
+        return (RuntimeException) e;
+    }
+
+    // Maps one CSV record to a request without a category, so the user's rules pick one;
+    // throws IllegalArgumentException with a row error
+    static TransactionRequest toRequest(List<String> fields, Columns columns,
+                                        StatementImportOptions options, DateTimeFormatter dateFormat) {
+        BigDecimal signed;
+        if (columns.debit >= 0) {
+            BigDecimal debit = parseAmount(field(fields, columns.debit, "debit"), options, true);
+            BigDecimal credit = parseAmount(field(fields, columns.credit, "credit"), options, true);
+            signed = credit.subtract(debit);
+        } else {
+            signed = parseAmount(field(fields, columns.amount, "amount"), options, false);
+            if (options.getSign() == StatementImportOptions.SignConvention.POSITIVE_IS_EXPENSE) {
+                signed = signed.negate();
+            }
+        }
+        boolean expense = signed.signum() < 0;
+
+        String dateText = field(fields, columns.date, "date").trim();
+        LocalDate date;
+        try {
+            date = LocalDate.parse(dateText, dateFormat);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Unreadable date '" + dateText + "'");
+        }
+
+        String description = field(fields, columns.description, "description").strip();
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(signed.abs());
+        request.setDescription(description);
+        request.setType(expense ? TransactionType.EXPENSE : TransactionType.INCOME);
+        request.setTransactionDate(date);
+        return request;
+    }
+
+    /**
+     * Parses amounts as banks print them: currency symbols, spaces and thousands separators
+     * are dropped, and a trailing minus or surrounding parentheses mean negative. An empty
+     * cell is zero when allowed (the unused side of a debit/credit pair).
+     */
+    static BigDecimal parseAmount(String text, StatementImportOptions options, boolean emptyIsZero) {
+        char decimal = options.isDecimalComma() ? ',' : '.';
+        StringBuilder digits = new StringBuilder(text.length());
+        boolean negative = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == decimal) {
+                digits.append('.');
+            } else if (c == '-' || c == '(' || c == '\u2212') {
+                negative = true;
+            }
+        }
+        if (digits.isEmpty()) {
+            if (emptyIsZero && text.isBlank()) {
+                return BigDecimal.ZERO;
+            }
+            throw new IllegalArgumentException("Unreadable amount '" + text.strip() + "'");
+        }
+        try {
+            BigDecimal amount = new BigDecimal(digits.toString());
+            return negative ? amount.negate() : amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unreadable amount '" + text.strip() + "'");
+        }
+    }
+
+    private static String field(List<String> fields, int index, String name) {
+        if (index >= fields.size()) {
+            throw new IllegalArgumentException("Missing " + name + " column");
+        }
+        return fields.get(index);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f", bytes / (1024.0 * 1024.0));
+    }
+
+    // Resolved 0-based column positions; debit and credit are -1 for a signed amount column
+    record Columns(int date, int amount, int description, int debit, int credit) {
+
+        static Columns resolve(StatementImportOptions options, List<String> header) {
+            boolean split = options.hasDebitCreditColumns();
+            return new Columns(
+                    index(options.getDateColumn(), header),
+                    split ? -1 : index(options.getAmountColumn(), header),
+                    index(options.getDescriptionColumn(), header),
+                    split ? index(options.getDebitColumn(), header) : -1,
+                    split ? index(options.getCreditColumn(), header) : -1);
+        }
+
+        private static int index(String column, List<String> header) {
+            if (column == null || column.isBlank()) {
+                throw new BadRequestException("Column mapping must not be blank");
+            }
+            if (column.chars().allMatch(Character::isDigit)) {
+                return Integer.parseInt(column);
+            }
+            if (header == null) {
+                throw new BadRequestException("Column '" + column + "' must be an index when header=false");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).strip().equalsIgnoreCase(column.strip())) {
+                    return i;
+                }
+            }
+            throw new BadRequestException("Column '" + column + "' not found in header " + header);
+        }
+    }
+
+    /**
+     * Reads one record ahead of the consumer. Records that fail to map become unreadable
+     * rows carrying their line number.
+     */
+    private static final class StatementRows implements Iterator<ImportRow> {
+
+        private final CsvReader reader;
+        private final StatementImportOptions options;
+        private final Long userId;
+        private final CountingInputStream counted;
+        private final long contentLength;
+        private final DateTimeFormatter dateFormat;
+        private final Columns columns;
+        private List<String> next;
+        private int rows;
+
+        StatementRows(CsvReader reader, StatementImportOptions options, Long userId,
+                      CountingInputStream counted, long contentLength) throws IOException {
+            this.reader = reader;
+            this.options = options;
+            this.userId = userId;
+            this.counted = counted;
+            this.contentLength = contentLength;
+            try {
+                this.dateFormat = DateTimeFormatter.ofPattern(options.getDateFormat());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid dateFormat '" + options.getDateFormat() + "'");
+            }
+
+            // Preamble lines are discarded
+            int skipped = 0;
+            while (skipped < options.getSkipLines() && reader.next() != null) {
+                skipped++;
+            }
+            List<String> header = null;
+            if (options.isHeader()) {
+                header = reader.next();
+                if (header == null) {
+                    throw new BadRequestException("Statement has no header row");
+                }
+                header.set(0, stripByteOrderMark(header.get(0)));
+            }
+            this.columns = Columns.resolve(options, header);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = reader.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> fields = next;
+            next = null;
+            if (++rows % PROGRESS_EVERY == 0) {
+                logProgress();
+            }
+
+            int line = (int) reader.getRecordLine();
+            try {
+                return ImportRow.parsed(line, toRequest(fields, columns, options, dateFormat));
+            } catch (IllegalArgumentException e) {
+                return ImportRow.unreadable(line, e.getMessage());
+            }
+        }
+
+        private void logProgress() {
+            if (contentLength > 0) {
+                log.info("Statement import for user {}: {} rows, {} of {} MB read ({}%)", userId, rows,
+                        megabytes(counted.count), megabytes(contentLength), counted.count * 100 / contentLength);
+            } else {
+                log.info("Statement import for user {}: {} rows, {} MB read",
+                        userId, rows, megabytes(counted.count));
+            }
+        }
+
+        private static String stripByteOrderMark(String field) {
+            return !field.isEmpty() && field.charAt(0) == '\uFEFF' ? field.substring(1) : field;
+        }
+    }
+
+    // Bytes consumed from the request, for progress reporting
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
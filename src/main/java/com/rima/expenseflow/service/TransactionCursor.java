@@ -0,0 +1,45 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes the (transactionDate, id) keyset of the last row of a window as an opaque token.
+ */
+final class TransactionCursor {
+
+    static final String DATE_KEY = "transactionDate";
+    static final String ID_KEY = "id";
+
+    private TransactionCursor() {
+    }
+
+    static String encode(ScrollPosition position) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        String raw = keys.get(DATE_KEY) + "|" + keys.get(ID_KEY);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(DATE_KEY, LocalDate.parse(raw.substring(0, separator)));
+            keys.put(ID_KEY, Long.parseLong(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
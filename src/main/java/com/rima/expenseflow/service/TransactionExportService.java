@@ -0,0 +1,118 @@
+package com.rima.expenseflow.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rima.expenseflow.dto.ExportFormat;
+import com.rima.expenseflow.dto.TransactionExportRow;
+import com.rima.expenseflow.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a user's whole history to an output stream as rows come off the database cursor.
+ * Only one row is held at a time, so memory does not depend on the size of the history.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TransactionExportService {
+
+    static final String CSV_HEADER = "id,transactionDate,type,category,amount,description,notes";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams every transaction of the user, newest first, and returns the row count.
+     * The caller owns {@code out}; it is flushed but not closed.
+     */
+    public long export(Long userId, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+
+        long rows;
+        try (Stream<TransactionExportRow> stream = transactionRepository.streamForExport(userId)) {
+            rows = switch (format) {
+                case CSV -> writeCsv(stream.iterator(), target);
+                case NDJSON -> writeNdjson(stream.iterator(), target);
+            };
+        }
+
+        if (target instanceof GZIPOutputStream zipped) {
+            zipped.finish();
+        }
+        out.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<TransactionExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getTransactionDate().toString());
+            writer.write(',');
+            writer.write(row.getType().name());
+            writer.write(',');
+            writer.write(row.getCategory().name());
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(csvText(row.getDescription()));
+            writer.write(',');
+            writer.write(csvText(row.getNotes()));
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<TransactionExportRow> rows, OutputStream out) throws IOException {
+        // Leave flushing to the generator's buffer instead of flushing after every row
+        ObjectWriter writer = objectMapper.writerFor(TransactionExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // RFC 4180 quoting, and a leading quote on cells a spreadsheet would run as a formula
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String text = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
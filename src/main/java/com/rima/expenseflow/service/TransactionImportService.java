@@ -0,0 +1,309 @@
+package com.rima.expenseflow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.ImportReport;
+import com.rima.expenseflow.dto.ImportRowResult;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.exception.BadRequestException;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.TransactionFingerprint;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Bulk insert of transactions. Rows are read and validated one at a time and persisted in
+ * chunks of CHUNK_SIZE; after each chunk the persistence context is flushed (as JDBC batches
+ * of hibernate.jdbc.batch_size) and cleared, so memory does not grow with the import.
+ * Rows without a category are categorized by the user's rules, compiled once per import.
+ *
+ * A JSON import is one database transaction, with its rollup deltas summed per bucket and
+ * written once at the end. A statement import (ImportLimits.commitPerChunk) commits each
+ * chunk in its own transaction together with that chunk's rollup deltas, so a
+ * multi-million-row upload holds a connection for one chunk at a time; if it fails part
+ * way, the committed chunks stay and ImportAbortedException says how far it got.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final CategorizationService categorizationService;
+    private final DuplicateDetector duplicateDetector;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${expenseflow.import.max-rows:100000}")
+    private int maxRows;
+
+    /**
+     * Import a JSON array or a newline-delimited stream of TransactionRequest objects.
+     * Rows that do not bind or validate are reported and skipped; a document that is not
+     * well-formed JSON is rejected as a whole.
+     */
+    public ImportReport importJson(Long userId, InputStream body, DuplicatePolicy duplicates) throws IOException {
+        try (MappingIterator<TransactionRequest> values =
+                     objectMapper.readerFor(TransactionRequest.class).readValues(body)) {
+            return importRows(userId, new JsonRows(values),
+                    new ImportLimits(maxRows, true, Integer.MAX_VALUE, false), duplicates);
+        }
+    }
+
+    /**
+     * Pulls rows until the source is exhausted; the source is never asked for more than the
+     * next row, so a streaming source reads its input at the pace rows are persisted. Under
+     * FLAG and SKIP, a row is a duplicate if its fingerprint matches a stored transaction or
+     * an earlier row of the same import; each chunk costs at most one lookup.
+     */
+    public ImportReport importRows(Long userId, Iterator<ImportRow> rows, ImportLimits limits,
+                                   DuplicatePolicy duplicates) {
+        ImportRun run = new ImportRun(userId, limits, duplicates);
+        if (!limits.commitPerChunk()) {
+            return transactionTemplate.execute(status -> run.readAll(rows));
+        }
+        try {
+            return run.readAll(rows);
+        } catch (RuntimeException e) {
+            if (run.committed == 0) {
+                throw e;  // Nothing stored; fails exactly as a single transaction would
+            }
+            throw new ImportAbortedException(e, run.committed, run.lastCommittedRow);
+        }
+    }
+
+    // State of one importRows call; valid rows wait in pending until their chunk is written
+    private final class ImportRun {
+
+        private final Long userId;
+        private final ImportLimits limits;
+        private final DuplicatePolicy duplicates;
+        private final CategoryMatcher matcher;
+        private final List<ImportRowResult> results = new ArrayList<>();
+        private final RollupService.Batch rollups = new RollupService.Batch();
+        private final List<PendingRow> pending = new ArrayList<>(CHUNK_SIZE);
+        private int received;
+        private int imported;
+        private int rejected;
+        private int duplicateCount;
+        private boolean truncated;
+        // Rows stored by chunks whose transaction has committed (commitPerChunk only)
+        private int committed;
+        private int lastCommittedRow;
+
+        ImportRun(Long userId, ImportLimits limits, DuplicatePolicy duplicates) {
+            this.userId = userId;
+            this.limits = limits;
+            this.duplicates = duplicates;
+            this.matcher = categorizationService.matcherFor(userId);
+        }
+
+        ImportReport readAll(Iterator<ImportRow> rows) {
+            while (rows.hasNext()) {
+                add(rows.next());
+            }
+            return finish();
+        }
+
+        void add(ImportRow row) {
+            if (++received > limits.maxRows()) {
+                throw new BadRequestException("Import exceeds the limit of " + limits.maxRows() + " rows");
+            }
+
+            List<String> errors = row.request() == null ? row.errors() : validate(row.request());
+            if (!errors.isEmpty()) {
+                if (++rejected <= limits.maxReportedErrors()) {
+                    results.add(ImportRowResult.rejected(row.row(), errors));
+                } else {
+                    truncated = true;
+                }
+                return;
+            }
+
+            Transaction transaction = toTransaction(row.request(), matcher);
+            String fingerprint = TransactionFingerprint.of(userId, transaction.getTransactionDate(),
+                    transaction.getType(), transaction.getAmount(), transaction.getDescription());
+            pending.add(new PendingRow(row.row(), transaction, fingerprint));
+            if (pending.size() == CHUNK_SIZE) {
+                writeChunk();
+            }
+        }
+
+        ImportReport finish() {
+            writeChunk();
+            if (!limits.commitPerChunk()) {
+                rollupService.recordAll(userId, rollups);
+            }
+            // Rejected rows are reported as they are read, the others when their chunk is written
+            results.sort(Comparator.comparingInt(ImportRowResult::getRow));
+
+            return ImportReport.builder()
+                    .received(received)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .duplicates(duplicateCount)
+                    .rows(results)
+                    .rowsTruncated(truncated)
+                    .build();
+        }
+
+        private void writeChunk() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (limits.commitPerChunk()) {
+                List<String> written = transactionTemplate.execute(status -> persistChunk());
+                committed = imported;
+                lastCommittedRow = pending.get(pending.size() - 1).row();
+                // Only committed fingerprints go into the filter
+                duplicateDetector.record(userId, written);
+            } else {
+                duplicateDetector.record(userId, persistChunk());
+            }
+            pending.clear();
+        }
+
+        // Returns the fingerprints of the rows stored
+        private List<String> persistChunk() {
+            // No select: the reference only supplies the foreign key
+            User user = userRepository.getReferenceById(userId);
+            Set<String> existing = duplicates == DuplicatePolicy.ALLOW
+                    ? Set.of()
+                    : duplicateDetector.findExisting(userId, pending.stream().map(PendingRow::fingerprint).toList());
+            Set<String> seen = new HashSet<>();
+            List<String> written = new ArrayList<>(pending.size());
+
+            for (PendingRow row : pending) {
+                boolean repeated = !seen.add(row.fingerprint());
+                if (duplicates != DuplicatePolicy.ALLOW && (repeated || existing.contains(row.fingerprint()))) {
+                    duplicateCount++;
+                    if (duplicates == DuplicatePolicy.SKIP) {
+                        if (limits.reportImportedRows()) {
+                            results.add(ImportRowResult.duplicate(row.row()));
+                        }
+                        continue;
+                    }
+                    row.transaction().setPossibleDuplicate(true);
+                }
+
+                Transaction transaction = row.transaction();
+                transaction.setUser(user);
+                entityManager.persist(transaction);
+                rollups.add(RollupService.Entry.of(transaction));
+                written.add(row.fingerprint());
+                if (limits.reportImportedRows()) {
+                    results.add(ImportRowResult.imported(row.row(), transaction.getId(),
+                            transaction.isPossibleDuplicate()));
+                }
+                imported++;
+            }
+
+            if (limits.commitPerChunk()) {
+                rollupService.recordAll(userId, rollups);
+            }
+            // Inserts go out as JDBC batches on flush; clearing keeps the context small
+            entityManager.flush();
+            entityManager.clear();
+            return written;
+        }
+    }
+
+    private record PendingRow(int row, Transaction transaction, String fingerprint) {
+    }
+
+    private List<String> validate(TransactionRequest request) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<TransactionRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    // The owner is set when the row's chunk is written
+    private static Transaction toTransaction(TransactionRequest request, CategoryMatcher matcher) {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(request.getAmount());
+        transaction.setDescription(request.getDescription());
+        transaction.setType(request.getType());
+        transaction.setCategory(request.getCategory() != null
+                ? request.getCategory()
+                : matcher.categorize(request.getDescription(), request.getAmount(), request.getType()));
+        transaction.setTransactionDate(request.getTransactionDate());
+        transaction.setNotes(request.getNotes());
+        return transaction;
+    }
+
+    /**
+     * Adapts Jackson's MappingIterator to ImportRow. A value that fails to bind becomes an
+     * unreadable row and the iterator resumes at the next value; a syntax error ends the
+     * import because the position of the following rows is unknown.
+     */
+    private static final class JsonRows implements Iterator<ImportRow> {
+
+        private final MappingIterator<TransactionRequest> values;
+        private int row;
+
+        JsonRows(MappingIterator<TransactionRequest> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return values.hasNextValue();
+            } catch (JsonProcessingException e) {
+                throw malformed(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            row++;
+            try {
+                TransactionRequest request = values.nextValue();
+                return request != null ? ImportRow.parsed(row, request) : ImportRow.unreadable(row, "Row is null");
+            } catch (JsonMappingException e) {
+                return ImportRow.unreadable(row, e.getOriginalMessage());
+            } catch (JsonProcessingException e) {
+                throw malformed(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private BadRequestException malformed(JsonProcessingException e) {
+            return new BadRequestException("Malformed JSON after row " + row + ": " + e.getOriginalMessage());
+        }
+    }
+}
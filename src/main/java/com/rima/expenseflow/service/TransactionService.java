@@ -1,94 +1,126 @@
 package com.rima.expenseflow.service;
 
+import com.rima.expenseflow.dto.DuplicatePolicy;
 import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.dto.TransactionFilter;
 import com.rima.expenseflow.dto.TransactionRequest;
 import com.rima.expenseflow.dto.TransactionResponse;
+import com.rima.expenseflow.dto.TransactionScrollResponse;
+import com.rima.expenseflow.exception.DuplicateResourceException;
 import com.rima.expenseflow.exception.ResourceNotFoundException;
 import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.TransactionFingerprint;
 import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.model.enums.Category;
 import com.rima.expenseflow.model.enums.TransactionType;
 import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.TransactionSpecifications;
 import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.repository.projection.CategoryTotal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TransactionService {
 
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Direction.DESC, TransactionCursor.DATE_KEY)
+            .and(Sort.by(Sort.Direction.DESC, TransactionCursor.ID_KEY));
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final CategorizationService categorizationService;
+    private final DuplicateDetector duplicateDetector;
+    private final BudgetService budgetService;
 
-    public TransactionResponse createTransaction(Long userId, TransactionRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    public TransactionResponse createTransaction(Long userId, TransactionRequest request,
+                                                 DuplicatePolicy duplicates) {
+        // The caller is authenticated, so a reference is enough to set the foreign key
+        User user = userRepository.getReferenceById(userId);
 
         Transaction transaction = new Transaction();
         transaction.setAmount(request.getAmount());
         transaction.setDescription(request.getDescription());
         transaction.setType(request.getType());
-        transaction.setCategory(request.getCategory());
+        transaction.setCategory(resolveCategory(userId, request));
         transaction.setTransactionDate(request.getTransactionDate());
         transaction.setNotes(request.getNotes());
         transaction.setUser(user);
 
+        if (duplicates != DuplicatePolicy.ALLOW && !duplicateDetector
+                .findExisting(userId, List.of(TransactionFingerprint.of(transaction))).isEmpty()) {
+            if (duplicates == DuplicatePolicy.SKIP) {
+                throw new DuplicateResourceException(
+                        "A transaction with the same date, type, amount and description already exists");
+            }
+            transaction.setPossibleDuplicate(true);
+        }
+
         Transaction saved = transactionRepository.save(transaction);
-        return mapToResponse(saved);
+        rollupService.record(userId, RollupService.Entry.of(saved));
+        duplicateDetector.record(userId, List.of(TransactionFingerprint.of(saved)));
+        return withBudget(userId, mapToResponse(saved));
     }
 
     @Transactional(readOnly = true)
     public Page<TransactionResponse> getTransactions(
             Long userId,
-            TransactionType type,
-            Category category,
+            TransactionFilter filter,
             Pageable pageable) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-
-        Page<Transaction> transactions;
-
-        if (type != null && category != null) {
-            // Filter by both type and category
-            transactions = transactionRepository.findByUserAndType(user, type, pageable)
-                    .map(t -> t.getCategory().equals(category) ? t : null)
-                    .map(t -> t);
-        } else if (type != null) {
-            transactions = transactionRepository.findByUserAndType(user, type, pageable);
-        } else if (category != null) {
-            transactions = transactionRepository.findByUserAndCategory(user, category, pageable);
-        } else {
-            transactions = transactionRepository.findByUser(user, pageable);
-        }
+        // All filters are pushed into one statement, so pages are always full
+        Page<Transaction> transactions = transactionRepository
+                .findAll(TransactionSpecifications.matching(userId, filter), pageable);
 
         return transactions.map(this::mapToResponse);
     }
 
+    /**
+     * Keyset-paged history, newest first. Seeks past the cursor's (transactionDate, id)
+     * instead of skipping rows, and never runs a COUNT query.
+     */
     @Transactional(readOnly = true)
-    public TransactionResponse getTransactionById(Long userId, Long transactionId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
+    public TransactionScrollResponse scrollTransactions(
+            Long userId,
+            TransactionFilter filter,
+            String cursor,
+            int size) {
+
+        Specification<Transaction> spec = TransactionSpecifications.matching(userId, filter)
+                .and(TransactionSpecifications.fetchOwner());
+
+        Window<Transaction> window = transactionRepository.findBy(spec, query -> query
+                .sortBy(SCROLL_SORT)
+                .limit(size)
+                .scroll(TransactionCursor.decode(cursor)));
+
+        List<TransactionResponse> content = window.stream().map(this::mapToResponse).toList();
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? TransactionCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+
+        return TransactionScrollResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        // Verify transaction belongs to user
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Transaction", "id", transactionId);
-        }
+    @Transactional(readOnly = true)
+    public TransactionResponse getTransactionById(Long userId, Long transactionId) {
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
 
         return mapToResponse(transaction);
     }
@@ -98,91 +130,78 @@ public class TransactionService {
             Long transactionId,
             TransactionRequest request) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
 
-        // Verify transaction belongs to user
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Transaction", "id", transactionId);
-        }
+        RollupService.Entry before = RollupService.Entry.of(transaction);
 
         transaction.setAmount(request.getAmount());
         transaction.setDescription(request.getDescription());
         transaction.setType(request.getType());
-        transaction.setCategory(request.getCategory());
+        transaction.setCategory(resolveCategory(userId, request));
         transaction.setTransactionDate(request.getTransactionDate());
         transaction.setNotes(request.getNotes());
 
         Transaction updated = transactionRepository.save(transaction);
-        return mapToResponse(updated);
+        rollupService.move(userId, before, RollupService.Entry.of(updated));
+        duplicateDetector.record(userId, List.of(TransactionFingerprint.of(updated)));
+        return withBudget(userId, mapToResponse(updated));
     }
 
     public void deleteTransaction(Long userId, Long transactionId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
-
-        // Verify transaction belongs to user
-        if (!transaction.getUser().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Transaction", "id", transactionId);
-        }
+        Transaction transaction = findOwnedTransaction(userId, transactionId);
 
         transactionRepository.delete(transaction);
+        rollupService.remove(userId, RollupService.Entry.of(transaction));
     }
 
     @Transactional(readOnly = true)
     public MonthlySummaryResponse getMonthlySummary(Long userId, YearMonth month) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-
-        LocalDate startDate = month.atDay(1);
-        LocalDate endDate = month.atEndOfMonth();
-
-        List<Transaction> transactions = transactionRepository
-                .findByUserAndTransactionDateBetween(user, startDate, endDate);
-
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<String, BigDecimal> expensesByCategory = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().name(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-
-        Map<String, BigDecimal> incomeByCategory = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().name(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
+        // Read the maintained rollup buckets; at most types x categories rows
+        return buildSummary(month, rollupService.getMonth(userId, month));
+    }
+
+    // Fold (type, category) buckets into the summary DTO (package-private for benchmarks)
+    MonthlySummaryResponse buildSummary(YearMonth month, List<? extends CategoryTotal> totals) {
+        CategoryCents cents = new CategoryCents();
+        for (CategoryTotal bucket : totals) {
+            cents.add(bucket);
+        }
 
         return MonthlySummaryResponse.builder()
                 .month(month)
-                .totalIncome(totalIncome)
-                .totalExpenses(totalExpenses)
-                .netSavings(totalIncome.subtract(totalExpenses))
-                .expensesByCategory(expensesByCategory)
-                .incomeByCategory(incomeByCategory)
-                .totalTransactions(transactions.size())
+                .totalIncome(cents.total(TransactionType.INCOME))
+                .totalExpenses(cents.total(TransactionType.EXPENSE))
+                .netSavings(cents.net())
+                .expensesByCategory(cents.byCategory(TransactionType.EXPENSE))
+                .incomeByCategory(cents.byCategory(TransactionType.INCOME))
+                .totalTransactions((int) cents.count())
                 .build();
     }
 
-    // Helper method to map Transaction to TransactionResponse
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    // Budget standing after a write, from the in-memory counters
+    private TransactionResponse withBudget(Long userId, TransactionResponse response) {
+        response.setBudget(budgetService.evaluate(
+                userId, response.getType(), response.getCategory(), response.getTransactionDate()));
+        return response;
+    }
+
+    // An explicit category wins; otherwise the user's rules decide
+    private Category resolveCategory(Long userId, TransactionRequest request) {
+        if (request.getCategory() != null) {
+            return request.getCategory();
+        }
+        return categorizationService.matcherFor(userId)
+                .categorize(request.getDescription(), request.getAmount(), request.getType());
+    }
+
+    // Ownership is part of the query: another user's id reads as not found
+    private Transaction findOwnedTransaction(Long userId, Long transactionId) {
+        return transactionRepository.findByIdAndUserId(transactionId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
+    }
+
+    // Helper method to map Transaction to TransactionResponse (package-private for benchmarks)
+    TransactionResponse mapToResponse(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
         response.setId(transaction.getId());
         response.setAmount(transaction.getAmount());
@@ -191,6 +210,7 @@ public class TransactionService {
         response.setCategory(transaction.getCategory());
         response.setTransactionDate(transaction.getTransactionDate());
         response.setNotes(transaction.getNotes());
+        response.setPossibleDuplicate(transaction.isPossibleDuplicate());
         response.setUserId(transaction.getUser().getId());
         response.setUsername(transaction.getUser().getUsername());
         response.setCreatedAt(transaction.getCreatedAt());
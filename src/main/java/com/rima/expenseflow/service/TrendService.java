@@ -0,0 +1,97 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.TrendGranularity;
+import com.rima.expenseflow.dto.TrendPoint;
+import com.rima.expenseflow.dto.TrendResponse;
+import com.rima.expenseflow.exception.BadRequestException;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.projection.PeriodCategoryTotal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Income, expense and per-category series over a date range. The database groups by
+ * truncated date, type and category in one query, and the gaps are filled here, so the
+ * work after the query is bounded by the number of buckets, not of transactions.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TrendService {
+
+    static final int MAX_BUCKETS = 1000;
+
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * @param from first day included; defaults to a year, twelve weeks or thirty days before to
+     * @param to   last day included; defaults to today
+     */
+    public TrendResponse getTrends(Long userId, TrendGranularity granularity, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : defaultStart(granularity, end);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        long buckets = granularity.buckets(start, end);
+        if (buckets > MAX_BUCKETS) {
+            throw new BadRequestException("Range spans " + buckets + " " + granularity
+                    + " buckets; at most " + MAX_BUCKETS + " are allowed");
+        }
+
+        List<PeriodCategoryTotal> totals = switch (granularity) {
+            case DAY -> transactionRepository.summarizeByDay(userId, start, end);
+            case WEEK -> transactionRepository.summarizeByWeek(userId, start, end);
+            case MONTH -> transactionRepository.summarizeByMonthStart(userId, start, end);
+        };
+
+        return TrendResponse.builder()
+                .from(start)
+                .to(end)
+                .granularity(granularity)
+                .points(buildPoints(granularity, start, end, totals))
+                .build();
+    }
+
+    // One point per bucket from start to end, zero where the query returned nothing
+    // (package-private for tests)
+    static List<TrendPoint> buildPoints(TrendGranularity granularity, LocalDate start, LocalDate end,
+                                        List<? extends PeriodCategoryTotal> totals) {
+        Map<LocalDate, CategoryCents> byPeriod = new HashMap<>();
+        for (PeriodCategoryTotal bucket : totals) {
+            byPeriod.computeIfAbsent(bucket.getPeriodStart(), period -> new CategoryCents()).add(bucket);
+        }
+
+        CategoryCents empty = new CategoryCents();
+        List<TrendPoint> points = new ArrayList<>((int) granularity.buckets(start, end));
+        for (LocalDate period = granularity.truncate(start); !period.isAfter(end); period = granularity.next(period)) {
+            CategoryCents cents = byPeriod.getOrDefault(period, empty);
+            points.add(TrendPoint.builder()
+                    .periodStart(period)
+                    .totalIncome(cents.total(TransactionType.INCOME))
+                    .totalExpenses(cents.total(TransactionType.EXPENSE))
+                    .netSavings(cents.net())
+                    .expensesByCategory(cents.byCategory(TransactionType.EXPENSE))
+                    .incomeByCategory(cents.byCategory(TransactionType.INCOME))
+                    .totalTransactions(cents.count())
+                    .build());
+        }
+        return points;
+    }
+
+    private static LocalDate defaultStart(TrendGranularity granularity, LocalDate end) {
+        return switch (granularity) {
+            case DAY -> end.minusDays(29);
+            case WEEK -> granularity.truncate(end).minusWeeks(11);
+            case MONTH -> granularity.truncate(end).minusMonths(11);
+        };
+    }
+}
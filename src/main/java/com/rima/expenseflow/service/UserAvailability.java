@@ -0,0 +1,98 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.AvailabilityResponse;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.repository.projection.UserIdentity;
+import com.rima.expenseflow.util.BloomFilter;
+import com.rima.expenseflow.util.CachedBloomFilters;
+import com.rima.expenseflow.util.Sha256;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Answers "is this username / email free?" for the sign-up form from a Bloom filter of
+ * every taken username and email, held per node. A value the filter has never seen is
+ * reported free without a query; only a "maybe" is confirmed with an indexed lookup, so
+ * a false positive never reports a free value as taken.
+ *
+ * The filter is filled from the database on first use and kept current by record() for
+ * registrations on this node. Registrations on other nodes are picked up when the cache
+ * entry expires (expenseflow.users.availability-refresh), so an answer can be briefly
+ * stale; the unique constraints still reject the insert.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAvailability {
+
+    public static final String FILTER_CACHE = "registeredIdentities";
+    private static final String FILTER_KEY = "users";
+    static final long MIN_CAPACITY = 100_000;
+    private static final int LOAD_PAGE = 5000;
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public AvailabilityResponse check(String username, String email) {
+        BloomFilter filter = filter();
+        return AvailabilityResponse.builder()
+                .username(username)
+                .usernameAvailable(username == null ? null
+                        : available(filter, "username", username, userRepository::existsByUsername))
+                .email(email)
+                .emailAvailable(email == null ? null
+                        : available(filter, "email", email, userRepository::existsByEmail))
+                .build();
+    }
+
+    // Call with each newly stored user
+    public void record(User user) {
+        CachedBloomFilters.putIfLoaded(cacheManager.getCache(FILTER_CACHE), FILTER_KEY,
+                filter -> put(filter, user.getUsername(), user.getEmail()));
+    }
+
+    private static boolean available(BloomFilter filter, String field, String value, Predicate<String> exists) {
+        long[] hash = hash(field, value);
+        return !filter.mightContain(hash[0], hash[1]) || !exists.test(value);
+    }
+
+    private BloomFilter filter() {
+        return cacheManager.getCache(FILTER_CACHE).get(FILTER_KEY, this::load);
+    }
+
+    // Each page is its own short read; no connection is held between them
+    private BloomFilter load() {
+        long users = userRepository.count();
+        // Two entries per user: the username and the email
+        BloomFilter filter = CachedBloomFilters.sizedFor(2 * users, MIN_CAPACITY);
+        long afterId = 0;
+        List<UserIdentity> page;
+        while (!(page = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, LOAD_PAGE))).isEmpty()) {
+            page.forEach(identity -> put(filter, identity.getUsername(), identity.getEmail()));
+            afterId = page.get(page.size() - 1).getId();
+        }
+        log.debug("Loaded availability filter: {} users, {} bytes", users, filter.sizeInBytes());
+        return filter;
+    }
+
+    private static void put(BloomFilter filter, String username, String email) {
+        long[] usernameHash = hash("username", username);
+        filter.put(usernameHash[0], usernameHash[1]);
+        long[] emailHash = hash("email", email);
+        filter.put(emailHash[0], emailHash[1]);
+    }
+
+    // Two independent 64-bit halves of SHA-256("field:value")
+    private static long[] hash(String field, String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Sha256.digest(field + ':' + value));
+        return new long[]{buffer.getLong(0), buffer.getLong(8)};
+    }
+}
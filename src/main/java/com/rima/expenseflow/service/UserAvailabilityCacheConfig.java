@@ -0,0 +1,29 @@
+package com.rima.expenseflow.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * The single availability filter of UserAvailability (about 1.2 bytes per user). It is
+ * rebuilt a fixed time after loading to pick up users registered on other nodes.
+ */
+@Configuration
+public class UserAvailabilityCacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userAvailabilityCache(
+            @Value("${expenseflow.users.availability-refresh:10m}") Duration refresh) {
+        return cacheManager -> cacheManager.registerCustomCache(UserAvailability.FILTER_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(1)
+                        .expireAfterWrite(refresh)
+                        .recordStats()
+                        .build());
+    }
+}
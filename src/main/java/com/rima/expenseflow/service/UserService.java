@@ -3,13 +3,19 @@ package com.rima.expenseflow.service;
 import com.rima.expenseflow.exception.DuplicateResourceException;
 import com.rima.expenseflow.exception.ResourceNotFoundException;
 import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.RecurringTransactionRepository;
 import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +24,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RollupService rollupService;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserAvailability userAvailability;
+    private final RecurringTransactionRepository recurringRepository;
+    private final BudgetService budgetService;
+    private final CategorizationService categorizationService;
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -28,36 +40,21 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
+    // One INSERT, with no check queries before it: the unique constraints on username and
+    // email reject a taken value, also when two registrations race. Joins a caller's
+    // transaction but opens none, so no connection is held while the password is hashed
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User createUser(User user) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new DuplicateResourceException("User", "username", user.getUsername());
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new DuplicateResourceException("User", "email", user.getEmail());
-        }
-
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        return userRepository.save(user);
+        User saved = saveUnique(user);
+        userAvailability.record(saved);
+        return saved;
     }
 
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
-
-        // Check if new username is taken by another user
-        if (!user.getUsername().equals(userDetails.getUsername()) &&
-                userRepository.existsByUsername(userDetails.getUsername())) {
-            throw new DuplicateResourceException("User", "username", userDetails.getUsername());
-        }
-
-        // Check if new email is taken by another user
-        if (!user.getEmail().equals(userDetails.getEmail()) &&
-                userRepository.existsByEmail(userDetails.getEmail())) {
-            throw new DuplicateResourceException("User", "email", userDetails.getEmail());
-        }
+        String previousUsername = user.getUsername();
 
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
@@ -68,16 +65,52 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = saveUnique(user);
+        userDetailsService.evict(previousUsername);
+        userAvailability.record(saved);
+        return saved;
     }
 
     public void deleteUser(Long id) {
         User user = getUserById(id);
+        // Rollups, budgets, rules and recurring templates reference the user by id only, so
+        // they are not removed by the cascade; a template left behind would fail the nightly run
+        rollupService.deleteForUser(user.getId());
+        budgetService.deleteForUser(user.getId());
+        categorizationService.deleteForUser(user.getId());
+        recurringRepository.deleteByUserId(user.getId());
         userRepository.delete(user);
+        userDetailsService.evict(user.getUsername());
     }
 
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
+
+    // Flushed so that a unique violation surfaces here, not at commit
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = violatedConstraint(e);
+            if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+                throw new DuplicateResourceException("User", "username", user.getUsername());
+            }
+            if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+                throw new DuplicateResourceException("User", "email", user.getEmail());
+            }
+            throw e;
+        }
+    }
+
+    // Postgres reports the constraint name; H2 reports its index, whose name starts with it
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        String name = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        if (name == null) {
+            name = String.valueOf(e.getMostSpecificCause().getMessage());
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.rima.expenseflow.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed keyword set. One left-to-right pass
+ * over the text reports every occurrence of every keyword, however many keywords there are.
+ * Immutable once built and safe to share between threads.
+ */
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+    private static final int[] NONE = new int[0];
+
+    // Per state: sorted transition characters and their target states
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    // Keyword indexes ending exactly at a state, and the nearest failure-chain state that has some
+    private final int[][] outputs;
+    private final int[] outputLink;
+
+    /**
+     * @param keywords non-empty keywords; a keyword's index in this list is what match() reports
+     */
+    public AhoCorasick(List<String> keywords) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords must not be empty");
+            }
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.get(state).add(k);
+        }
+
+        int size = trie.size();
+        labels = new char[size][];
+        targets = new int[size][];
+        outputs = new int[size][];
+        for (int s = 0; s < size; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            labels[s] = new char[edges.size()];
+            targets[s] = new int[edges.size()];
+            int i = 0;
+            for (var edge : edges.entrySet()) {
+                labels[s][i] = edge.getKey();
+                targets[s][i++] = edge.getValue();
+            }
+            outputs[s] = ends.get(s).isEmpty() ? NONE : ends.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Breadth-first, so a state's failure target is finished before its children need it
+        failure = new int[size];
+        outputLink = new int[size];
+        outputLink[ROOT] = -1;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            failure[child] = ROOT;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                int child = targets[state][i];
+                int fallback = step(failure[state], labels[state][i]);
+                failure[child] = fallback;
+                outputLink[child] = outputs[fallback].length > 0 ? fallback : outputLink[fallback];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Calls onMatch with the keyword index of every occurrence in text, in order of the
+     * occurrence's end position. Overlapping and repeated occurrences are all reported.
+     */
+    public void match(CharSequence text, IntConsumer onMatch) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, fold(text.charAt(i)));
+            int found = outputs[state].length > 0 ? state : outputLink[state];
+            while (found >= 0) {
+                for (int keyword : outputs[found]) {
+                    onMatch.accept(keyword);
+                }
+                found = outputLink[found];
+            }
+        }
+    }
+
+    /**
+     * The keyword as the automaton compares it. Keywords that normalize to the same string
+     * are indistinguishable to match().
+     */
+    public static String normalize(String keyword) {
+        char[] chars = keyword.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    // Number of trie states, a proxy for memory use
+    public int size() {
+        return labels.length;
+    }
+
+    // Per-char lowercasing: unlike String.toLowerCase it never changes the text's length
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int i = Arrays.binarySearch(labels[state], c);
+            if (i >= 0) {
+                return targets[state][i];
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failure[state];
+        }
+    }
+}
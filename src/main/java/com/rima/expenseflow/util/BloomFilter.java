@@ -0,0 +1,69 @@
+package com.rima.expenseflow.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over callers' own 128-bit hashes (two longs). Answers "definitely
+ * absent" or "maybe present"; elements cannot be removed. Bit positions are derived by
+ * double hashing (h1 + i * h2), so the two halves must be independent, e.g. from SHA-256.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount, long capacity) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sized so that after `capacity` insertions about falsePositiveRate of absent
+     * elements still answer "maybe present".
+     */
+    public static BloomFilter create(long capacity, double falsePositiveRate) {
+        long n = Math.max(1, capacity);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes, n);
+    }
+
+    public void put(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // More insertions than the filter was sized for; its false positive rate is now higher
+    public boolean isSaturated() {
+        return insertions.get() > capacity;
+    }
+
+    // Bytes of bit storage, for cache weighing
+    public long sizeInBytes() {
+        return words.length() * 8L;
+    }
+}
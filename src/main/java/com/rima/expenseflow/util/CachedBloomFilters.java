@@ -0,0 +1,38 @@
+package com.rima.expenseflow.util;
+
+import org.springframework.cache.Cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Bloom filters kept in a Spring cache: filled from the database on first use, then kept
+ * current by putIfLoaded as rows are written. A filter is sized with room to grow; once it
+ * saturates it is evicted, and the next use reloads it at the size of the data by then.
+ */
+public final class CachedBloomFilters {
+
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private CachedBloomFilters() {
+    }
+
+    // Room for as many entries again as are loaded now before the filter saturates
+    public static BloomFilter sizedFor(long entries, long minCapacity) {
+        return BloomFilter.create(Math.max(minCapacity, 2 * entries), FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Adds to the filter cached under key. Nothing is done when it is not loaded: the next
+     * load reads the new rows from the database.
+     */
+    public static void putIfLoaded(Cache cache, Object key, Consumer<BloomFilter> put) {
+        BloomFilter filter = cache.get(key, BloomFilter.class);
+        if (filter == null) {
+            return;
+        }
+        put.accept(filter);
+        if (filter.isSaturated()) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.rima.expenseflow.util;
+
+/**
+ * The input cannot be split into records any further (unbalanced quotes, oversized record).
+ */
+public class CsvFormatException extends RuntimeException {
+
+    private final long line;
+
+    public CsvFormatException(long line, String message) {
+        super("Line " + line + ": " + message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,125 @@
+package com.rima.expenseflow.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull-based RFC 4180 record reader. Reads one record per call from the underlying reader,
+ * so only the current record is ever in memory. Quoted fields may contain the delimiter,
+ * doubled quotes and line breaks; CRLF, LF and CR line endings are accepted.
+ */
+public class CsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int maxRecordLength;
+
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;        // Line the next character belongs to
+    private long recordLine;      // Line the last returned record started on
+    private int pushedBack = Integer.MIN_VALUE;
+
+    public CsvReader(Reader reader, char delimiter, int maxRecordLength) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * The next record's fields, or null at end of input. Blank lines are skipped.
+     *
+     * @throws CsvFormatException for an unterminated quote or a record over the length limit
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            consumeLineEnd(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        int length = 0;
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        field.setLength(0);
+
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new CsvFormatException(recordLine, "record exceeds " + maxRecordLength + " characters");
+            }
+            if (quoted) {
+                if (c == EOF) {
+                    throw new CsvFormatException(recordLine, "unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    consumeLineEnd(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Line on which the record last returned by next() started
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    // Consumes the rest of a line ending whose first character c was already read
+    private void consumeLineEnd(int c) throws IOException {
+        line++;
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == Integer.MIN_VALUE) {
+            pushedBack = reader.read();
+        }
+        return pushedBack;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            int c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return c;
+        }
+        return reader.read();
+    }
+}
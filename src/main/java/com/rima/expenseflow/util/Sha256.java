@@ -0,0 +1,23 @@
+package com.rima.expenseflow.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 of UTF-8 text: transaction fingerprints and the hashes fed to BloomFilter.
+ * MessageDigest is not thread-safe, so every call takes a fresh one.
+ */
+public final class Sha256 {
+
+    private Sha256() {
+    }
+
+    public static byte[] digest(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every JVM", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.rima.expenseflow.util;
+
+/**
+ * A CharSequence that allows a fixed number of charAt calls, then throws
+ * StepLimitExceededException. java.util.regex reads its input through charAt, so matching
+ * against this wrapper caps the work of a backtracking pattern: a rule such as (a+)+$ is
+ * cut off after maxSteps reads instead of running for an exponential time.
+ */
+public final class StepLimitedCharSequence implements CharSequence {
+
+    private final CharSequence text;
+    private final int maxSteps;
+    private int steps;
+
+    public StepLimitedCharSequence(CharSequence text, int maxSteps) {
+        this.text = text;
+        this.maxSteps = maxSteps;
+    }
+
+    // Starts a new budget for the next match
+    public StepLimitedCharSequence reset() {
+        steps = 0;
+        return this;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++steps > maxSteps) {
+            throw StepLimitExceededException.INSTANCE;
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    // Shares this budget, so a match cannot escape it through a sub-sequence
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new CharSequence() {
+            @Override
+            public char charAt(int index) {
+                return StepLimitedCharSequence.this.charAt(start + index);
+            }
+
+            @Override
+            public int length() {
+                return end - start;
+            }
+
+            @Override
+            public CharSequence subSequence(int from, int to) {
+                return StepLimitedCharSequence.this.subSequence(start + from, start + to);
+            }
+
+            @Override
+            public String toString() {
+                return text.subSequence(start, end).toString();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    // Thrown per cut-off match, possibly once per imported row; no stack trace to fill in
+    public static final class StepLimitExceededException extends RuntimeException {
+
+        private static final StepLimitExceededException INSTANCE = new StepLimitExceededException();
+
+        private StepLimitExceededException() {
+            super("Regular expression step limit exceeded", null, false, false);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.rima.expenseflow.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rima.expenseflow.dto.AuthRequest;
+import com.rima.expenseflow.dto.RefreshRequest;
 import com.rima.expenseflow.dto.RegisterRequest;
+import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +13,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +40,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -110,5 +120,93 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.username").value("loginuser"));
     }
 
+    @Test
+    void login_WhenHashHasAnotherStrength_ShouldRehashWithConfiguredStrength() throws Exception {
+        // Given - a hash left over from before the strength was changed
+        User user = new User();
+        user.setUsername("olduser");
+        user.setEmail("old@example.com");
+        user.setPassword(new BCryptPasswordEncoder(5).encode("password123"));
+        user.setRole("ROLE_USER");
+        userRepository.save(user);
+
+        AuthRequest loginRequest = new AuthRequest();
+        loginRequest.setUsername("olduser");
+        loginRequest.setPassword("password123");
+
+        // When
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        // Then - test profile strength is 4
+        String rehashed = userRepository.findByUsername("olduser").orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("$2a$04$");
+        assertThat(passwordEncoder.matches("password123", rehashed)).isTrue();
+    }
+
+    @Test
+    void refresh_ShouldRotateAndRevokeTheSessionWhenATokenIsReused() throws Exception {
+        // Given
+        JsonNode session = register("refreshuser");
+        String firstRefresh = session.get("refreshToken").asText();
+
+        // When - first use rotates
+        JsonNode rotated = refresh(firstRefresh, 200);
+        String accessToken = rotated.get("token").asText();
+        mockMvc.perform(get("/api/transactions").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // Then - replaying the spent token signs the whole session out
+        refresh(firstRefresh, 401);
+        refresh(rotated.get("refreshToken").asText(), 401);
+        mockMvc.perform(get("/api/transactions").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessAndRefreshTokensOfTheSession() throws Exception {
+        // Given
+        JsonNode session = register("logoutuser");
+        String accessToken = session.get("token").asText();
+        String refreshToken = session.get("refreshToken").asText();
+
+        // When
+        mockMvc.perform(post("/api/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/transactions").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isForbidden());
+        refresh(refreshToken, 401);
+        // An access token is not accepted as a refresh token
+        refresh(accessToken, 401);
+    }
+
+    private JsonNode register(String username) throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("password123");
+
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.expiresIn").value(3600))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
 
-}
\ No newline at end of file
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
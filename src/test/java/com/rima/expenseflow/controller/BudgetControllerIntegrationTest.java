@@ -0,0 +1,238 @@
+package com.rima.expenseflow.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.dto.BudgetRequest;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.BudgetRepository;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import com.rima.expenseflow.service.BudgetService;
+import com.rima.expenseflow.service.RollupService;
+import com.rima.expenseflow.service.TransactionService;
+import com.rima.expenseflow.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not @Transactional: spend counters are only cached outside write transactions, and
+ * limit evictions run after commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BudgetControllerIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private UserService userService;
+
+    private String token;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+        cacheManager.getCache(BudgetService.BUDGET_CACHE).clear();
+        cacheManager.getCache(BudgetService.SPEND_CACHE).clear();
+
+        User user = new User();
+        user.setUsername("budgetuser");
+        user.setEmail("budgetuser@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+        userId = user.getId();
+        token = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        budgetRepository.deleteAll();
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void writes_ShouldMoveSpendAndReportOverspend() throws Exception {
+        // Given
+        setBudget(Category.FOOD, "100.00")
+                .andExpect(jsonPath("$.spent").value(0))
+                .andExpect(jsonPath("$.remaining").value(100.00));
+
+        // When/Then
+        create("60.00", Category.FOOD)
+                .andExpect(jsonPath("$.budget.spent").value(60.00))
+                .andExpect(jsonPath("$.budget.overspent").value(false));
+        String id = objectMapper.readTree(create("50.00", Category.FOOD)
+                .andExpect(jsonPath("$.budget.remaining").value(-10.00))
+                .andExpect(jsonPath("$.budget.overspent").value(true))
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+        create("500.00", Category.TRANSPORT)
+                .andExpect(jsonPath("$.budget").doesNotExist());
+
+        mockMvc.perform(put("/api/transactions/" + id)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("30.00", Category.FOOD))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budget.spent").value(90.00));
+
+        mockMvc.perform(get("/api/budgets").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].category").value("FOOD"))
+                .andExpect(jsonPath("$[0].spent").value(90.00))
+                .andExpect(jsonPath("$[0].overspent").value(false));
+    }
+
+    @Test
+    void statusReads_ShouldBeServedFromLoadedCounters() throws Exception {
+        // Given: the counter is loaded by the first read
+        create("25.00", Category.FOOD);
+        setBudget(Category.FOOD, "40.00");
+        mockMvc.perform(get("/api/budgets").header("Authorization", token))
+                .andExpect(jsonPath("$[0].spent").value(25.00));
+
+        // When: rollups vanish behind the counter's back, and a write moves it
+        rollupRepository.deleteAll();
+        create("20.00", Category.FOOD);
+
+        // Then
+        mockMvc.perform(get("/api/budgets").header("Authorization", token))
+                .andExpect(jsonPath("$[0].spent").value(45.00))
+                .andExpect(jsonPath("$[0].overspent").value(true));
+    }
+
+    @Test
+    void rebuild_ShouldResetOnlyThatUsersCounters() throws Exception {
+        // Given: both users' FOOD counters are loaded at 25.00
+        create("25.00", Category.FOOD);
+        setBudget(Category.FOOD, "40.00");
+        mockMvc.perform(get("/api/budgets").header("Authorization", token))
+                .andExpect(jsonPath("$[0].spent").value(25.00));
+        User other = new User();
+        other.setUsername("otherbudgetuser");
+        other.setEmail("otherbudgetuser@example.com");
+        other.setPassword("password123");
+        Long otherId = userRepository.save(other).getId();
+        transactionService.createTransaction(otherId, request("25.00", Category.FOOD), DuplicatePolicy.ALLOW);
+        budgetService.setBudget(otherId, Category.FOOD, new BudgetRequest(new BigDecimal("40.00")));
+        assertThat(budgetService.getStatuses(otherId, YearMonth.now()).get(0).getSpent()).isEqualByComparingTo("25.00");
+
+        // When: everything vanishes behind the counters' backs and one user is rebuilt
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        rollupService.rebuild(userId);
+
+        // Then: the rebuilt user reloads, the other keeps its counter until it expires
+        mockMvc.perform(get("/api/budgets").header("Authorization", token))
+                .andExpect(jsonPath("$[0].spent").value(0));
+        assertThat(budgetService.getStatuses(otherId, YearMonth.now()).get(0).getSpent()).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    void deleteUser_ShouldDeleteBudgetsAndEvictCachedLimits() throws Exception {
+        // Given: limits cached by a status read
+        setBudget(Category.FOOD, "40.00");
+        mockMvc.perform(get("/api/budgets").header("Authorization", token))
+                .andExpect(jsonPath("$.length()").value(1));
+        assertThat(cacheManager.getCache(BudgetService.BUDGET_CACHE).get(userId)).isNotNull();
+
+        // When
+        userService.deleteUser(userId);
+
+        // Then
+        assertThat(budgetRepository.findByUserId(userId)).isEmpty();
+        assertThat(cacheManager.getCache(BudgetService.BUDGET_CACHE).get(userId)).isNull();
+    }
+
+    @Test
+    void setBudget_ForIncomeCategory_ShouldReturn400() throws Exception {
+        mockMvc.perform(put("/api/budgets/SALARY")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BudgetRequest(new BigDecimal("10.00")))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions setBudget(Category category, String limit) throws Exception {
+        return mockMvc.perform(put("/api/budgets/" + category)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BudgetRequest(new BigDecimal(limit)))))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions create(String amount, Category category) throws Exception {
+        return mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(amount, category))))
+                .andExpect(status().isCreated());
+    }
+
+    private static TransactionRequest request(String amount, Category category) {
+        return new TransactionRequest(new BigDecimal(amount), "Budget " + category,
+                TransactionType.EXPENSE, category, TODAY, null);
+    }
+}
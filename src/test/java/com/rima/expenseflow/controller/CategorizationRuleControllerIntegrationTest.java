@@ -0,0 +1,195 @@
+package com.rima.expenseflow.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.dto.CategorizationRuleRequest;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.CategorizationRuleRepository;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import com.rima.expenseflow.service.CategorizationService;
+import com.rima.expenseflow.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not @Transactional: matcher evictions run after commit, which a rolled-back test
+ * transaction never reaches.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CategorizationRuleControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private CategorizationRuleRepository ruleRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserService userService;
+
+    private String token;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+        cacheManager.getCache(CategorizationService.MATCHER_CACHE).clear();
+
+        User user = new User();
+        user.setUsername("ruleuser");
+        user.setEmail("ruleuser@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+        userId = user.getId();
+        token = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleRepository.deleteAll();
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void create_WithoutCategory_ShouldUseRulesAndSeeRuleChanges() throws Exception {
+        // Given
+        String ruleId = objectMapper.readTree(createRule(rule("netflix", Category.ENTERTAINMENT))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.type").value("EXPENSE"))
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+
+        // When/Then
+        createUncategorized("NETFLIX.COM 866-579")
+                .andExpect(jsonPath("$.category").value("ENTERTAINMENT"));
+        createUncategorized("Corner shop")
+                .andExpect(jsonPath("$.category").value("OTHER_EXPENSE"));
+
+        // The cached matcher is rebuilt after the rule changes
+        mockMvc.perform(put("/api/categorization-rules/" + ruleId)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rule("netflix", Category.EDUCATION))))
+                .andExpect(status().isOk());
+        createUncategorized("NETFLIX.COM 866-579")
+                .andExpect(jsonPath("$.category").value("EDUCATION"));
+    }
+
+    @Test
+    void deleteUser_ShouldDeleteRulesAndEvictCompiledMatcher() throws Exception {
+        // Given: the matcher is compiled and cached by an uncategorized create
+        createRule(rule("netflix", Category.ENTERTAINMENT)).andExpect(status().isCreated());
+        createUncategorized("NETFLIX.COM 866-579").andExpect(jsonPath("$.category").value("ENTERTAINMENT"));
+        assertThat(cacheManager.getCache(CategorizationService.MATCHER_CACHE).get(userId)).isNotNull();
+
+        // When
+        userService.deleteUser(userId);
+
+        // Then
+        assertThat(ruleRepository.countByUserId(userId)).isZero();
+        assertThat(cacheManager.getCache(CategorizationService.MATCHER_CACHE).get(userId)).isNull();
+    }
+
+    @Test
+    void statement_ShouldCategorizeRowsWithRules() throws Exception {
+        // Given
+        createRule(rule("tesco", Category.FOOD)).andExpect(status().isCreated());
+        createRule(rule("acme ltd", Category.SALARY)).andExpect(status().isCreated());
+
+        // When
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .content("date,amount,description\n2026-08-01,-42.10,TESCO STORES 2231\n"
+                                + "2026-08-02,2500.00,ACME LTD PAYROLL\n2026-08-03,-5.00,Parking\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3));
+
+        // Then
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-08"))
+                .andExpect(jsonPath("$.expensesByCategory.FOOD").value(42.10))
+                .andExpect(jsonPath("$.expensesByCategory.OTHER_EXPENSE").value(5.00))
+                .andExpect(jsonPath("$.incomeByCategory.SALARY").value(2500.00));
+    }
+
+    @Test
+    void createRule_WhenInvalid_ShouldReturn400() throws Exception {
+        CategorizationRuleRequest wrongType = rule("salary", Category.SALARY);
+        wrongType.setType(TransactionType.EXPENSE);
+        createRule(wrongType).andExpect(status().isBadRequest());
+
+        CategorizationRuleRequest badRegex = rule("(unclosed", Category.FOOD);
+        badRegex.setMatchType(RuleMatchType.REGEX);
+        createRule(badRegex).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions createRule(CategorizationRuleRequest request)
+            throws Exception {
+        return mockMvc.perform(post("/api/categorization-rules")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private ResultActions createUncategorized(String description)
+            throws Exception {
+        String body = "{\"amount\":12.99,\"description\":\"" + description + "\",\"type\":\"EXPENSE\","
+                + "\"transactionDate\":\"2026-08-10\"}";
+        return mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+    }
+
+    private static CategorizationRuleRequest rule(String pattern, Category category) {
+        CategorizationRuleRequest request = new CategorizationRuleRequest();
+        request.setPattern(pattern);
+        request.setCategory(category);
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package com.rima.expenseflow.controller;
+
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement uploads commit chunk by chunk. Not @Transactional on purpose: each chunk has
+ * to commit for real for the kept rows to be visible.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementImportChunkingIntegrationTest {
+
+    private static final int ROWS = 600;  // One full chunk of 500 and part of the next
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+        User user = new User();
+        user.setUsername("chunkuser");
+        user.setEmail("chunk@example.com");
+        user.setPassword("password123");
+        token = "Bearer " + jwtUtil.generateToken(userRepository.save(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void statement_WhenFileBreaksAfterFirstChunk_ShouldKeepCommittedRowsAndResumeWithSkip() throws Exception {
+        // Given - the last record opens a quote that never closes
+        String rows = statementRows();
+
+        // When/Then - the first chunk (lines 2 to 501) is kept, its rollups with it
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .content(rows + "2026-05-28,-1.00,\"open\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("500 rows up to line 501 were imported")));
+        assertThat(transactionRepository.count()).isEqualTo(500);
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-05"))
+                .andExpect(jsonPath("$.totalTransactions").value(500));
+
+        // The corrected file imports only the rest
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .param("duplicates", "SKIP")
+                        .content(rows))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(ROWS - 500))
+                .andExpect(jsonPath("$.duplicates").value(500));
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-05"))
+                .andExpect(jsonPath("$.totalTransactions").value(ROWS));
+    }
+
+    private static String statementRows() {
+        StringBuilder csv = new StringBuilder("date,amount,description\n");
+        for (int i = 1; i <= ROWS; i++) {
+            csv.append("2026-05-").append(String.format("%02d", i % 28 + 1))
+                    .append(",-").append(i).append(".00,Row ").append(i).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,488 @@
+package com.rima.expenseflow.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.dto.RegisterRequest;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class TransactionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Rolled-back users of earlier tests may still be cached under the same username
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+        userRepository.deleteAll();
+
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("scrolluser");
+        register.setEmail("scroll@example.com");
+        register.setPassword("password123");
+
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        token = "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+
+    @Test
+    void scroll_ShouldWalkHistoryWithCursorAndNoDuplicates() throws Exception {
+        // Given - five rows, three sharing the same date so the id tie-breaker matters
+        createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 1, 5));
+        createTransaction("11.00", Category.FOOD, LocalDate.of(2026, 1, 5));
+        createTransaction("12.00", Category.TRANSPORT, LocalDate.of(2026, 1, 5));
+        createTransaction("13.00", Category.FOOD, LocalDate.of(2026, 1, 7));
+        createTransaction("14.00", Category.FOOD, LocalDate.of(2025, 12, 31));
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int windows = 0;
+        do {
+            JsonNode window = scroll(cursor, null);
+            window.get("content").forEach(row -> seen.add(row.get("id").asLong()));
+            cursor = window.get("hasNext").asBoolean() ? window.get("nextCursor").asText() : null;
+            windows++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+        assertThat(windows).isEqualTo(3);
+    }
+
+    @Test
+    void scroll_ShouldApplyFiltersAcrossWindows() throws Exception {
+        // Given
+        createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 1, 5));
+        createTransaction("12.00", Category.TRANSPORT, LocalDate.of(2026, 1, 6));
+        createTransaction("13.00", Category.FOOD, LocalDate.of(2026, 1, 7));
+        createTransaction("14.00", Category.FOOD, LocalDate.of(2026, 1, 8));
+
+        // When
+        JsonNode first = scroll(null, Category.FOOD);
+        JsonNode second = scroll(first.get("nextCursor").asText(), Category.FOOD);
+
+        // Then
+        assertThat(first.get("size").asInt()).isEqualTo(2);
+        assertThat(second.get("size").asInt()).isEqualTo(1);
+        assertThat(second.get("hasNext").asBoolean()).isFalse();
+        second.get("content").forEach(row -> assertThat(row.get("category").asText()).isEqualTo("FOOD"));
+    }
+
+    @Test
+    void getTransactions_WithCombinedFilters_ShouldReturnFullPagesOfMatchesOnly() throws Exception {
+        // Given - matches interleaved with rows that only satisfy one of the filters
+        createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 2, 1));
+        createTransaction("20.00", Category.TRANSPORT, LocalDate.of(2026, 2, 2));
+        createTransaction("30.00", Category.FOOD, LocalDate.of(2026, 2, 3));
+        createTransaction("40.00", Category.TRANSPORT, LocalDate.of(2026, 2, 4));
+        createTransaction("50.00", Category.FOOD, LocalDate.of(2026, 2, 5));
+        createTransaction("60.00", Category.FOOD, LocalDate.of(2026, 3, 1));
+
+        // When/Then
+        mockMvc.perform(get("/api/transactions")
+                        .header("Authorization", token)
+                        .param("type", "EXPENSE")
+                        .param("category", "FOOD")
+                        .param("from", "2026-02-01")
+                        .param("to", "2026-02-28")
+                        .param("minAmount", "20")
+                        .param("search", "row")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].category").value("FOOD"))
+                .andExpect(jsonPath("$.content[0].amount").value(50.00))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void scroll_WhenCursorIsGarbage_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/transactions/scroll")
+                        .header("Authorization", token)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void import_WithNdjson_ShouldReportEachRowAndKeepSummaryInStep() throws Exception {
+        // Given - two valid rows, one failing validation, one that does not bind
+        String ndjson = String.join("\n",
+                importRow("10.00", "FOOD", "2026-04-01"),
+                importRow("15.50", "FOOD", "2026-04-02"),
+                importRow("-3.00", "FOOD", "2026-04-03"),
+                importRow("7.00", "NOT_A_CATEGORY", "2026-04-04"));
+
+        // When/Then
+        mockMvc.perform(post("/api/transactions/import")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rows[0].status").value("IMPORTED"))
+                .andExpect(jsonPath("$.rows[0].id").isNumber())
+                .andExpect(jsonPath("$.rows[2].row").value(3))
+                .andExpect(jsonPath("$.rows[2].errors[0]").value(startsWith("amount")))
+                .andExpect(jsonPath("$.rows[3].status").value("REJECTED"));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-04"))
+                .andExpect(jsonPath("$.totalExpenses").value(25.50))
+                .andExpect(jsonPath("$.totalTransactions").value(2));
+    }
+
+    @Test
+    void import_WithJsonArrayLargerThanOneChunk_ShouldImportAllRows() throws Exception {
+        // Given
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            rows.add(importRow("1.00", i % 2 == 0 ? "FOOD" : "TRANSPORT", "2026-05-0" + (1 + i % 9)));
+        }
+
+        // When/Then
+        mockMvc.perform(post("/api/transactions/import")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", rows) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1200));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-05"))
+                .andExpect(jsonPath("$.totalExpenses").value(1200.00))
+                .andExpect(jsonPath("$.expensesByCategory.FOOD").value(600.00))
+                .andExpect(jsonPath("$.totalTransactions").value(1200));
+    }
+
+    @Test
+    void import_WhenJsonIsMalformed_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/transactions/import")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + importRow("1.00", "FOOD", "2026-04-01") + ", {\"amount\": "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void statement_WithMappedColumns_ShouldImportRowsAndReportLineErrors() throws Exception {
+        // Given - a preamble line, a BOM, renamed columns, European formatting and two bad lines
+        String csv = "Account 12345678\r\n"
+                + "\uFEFFBooking Date;Details;Value\r\n"
+                + "01/06/2026;\"Supermarket; weekly\";-1.234,50 €\r\n"
+                + "02/06/2026;Salary June;2.500,00\r\n"
+                + "31/13/2026;Broken date;-5,00\r\n"
+                + "03/06/2026;No amount;n/a\r\n";
+
+        // When/Then
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .param("skipLines", "1")
+                        .param("delimiter", ";")
+                        .param("decimalComma", "true")
+                        .param("dateColumn", "booking date")
+                        .param("descriptionColumn", "Details")
+                        .param("amountColumn", "2")
+                        .param("dateFormat", "dd/MM/yyyy")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rows.length()").value(2))
+                .andExpect(jsonPath("$.rows[0].row").value(5))
+                .andExpect(jsonPath("$.rows[0].errors[0]").value(startsWith("Unreadable date")))
+                .andExpect(jsonPath("$.rows[1].row").value(6));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-06"))
+                .andExpect(jsonPath("$.totalExpenses").value(1234.50))
+                .andExpect(jsonPath("$.totalIncome").value(2500.00))
+                .andExpect(jsonPath("$.expensesByCategory.OTHER_EXPENSE").value(1234.50));
+    }
+
+    @Test
+    void statement_WithPositiveIsExpense_ShouldFlipTypes() throws Exception {
+        // Given - a card statement where charges are positive and refunds negative
+        String csv = "date,amount,description\n2026-07-01,40.00,Fuel\n2026-07-02,-10.00,Refund\n";
+
+        // When/Then
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .param("sign", "POSITIVE_IS_EXPENSE")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-07"))
+                .andExpect(jsonPath("$.totalExpenses").value(40.00))
+                .andExpect(jsonPath("$.totalIncome").value(10.00));
+    }
+
+    @Test
+    void statement_WhenColumnIsMissingOrQuoteUnterminated_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .content("date,value,description\n2026-07-01,1.00,x\n"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .contentType("text/csv")
+                        .content("date,amount,description\n2026-07-01,1.00,\"open\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void statement_ReimportedWithSkip_ShouldStoreOnlyNewRows() throws Exception {
+        // Given - the second statement overlaps the first by two rows, with different spacing and case
+        String first = "date,amount,description\n2026-09-01,-10.00,Coffee Shop\n2026-09-02,-20.00,Books\n";
+        String second = "date,amount,description\n2026-09-02,-20.00,BOOKS\n2026-09-01,-10.00,coffee  shop\n"
+                + "2026-09-03,-30.00,Train\n";
+        importStatement(first, "SKIP")
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.duplicates").value(0));
+
+        // When/Then
+        importStatement(second, "SKIP")
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.duplicates").value(2));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-09"))
+                .andExpect(jsonPath("$.totalExpenses").value(60.00))
+                .andExpect(jsonPath("$.totalTransactions").value(3));
+    }
+
+    @Test
+    void import_WithFlag_ShouldFlagStoredAndRepeatedRows() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/transactions/import")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(importRow("10.00", "FOOD", "2026-04-01")))
+                .andExpect(status().isOk());
+        String ndjson = String.join("\n",
+                importRow("10.00", "FOOD", "2026-04-01"),
+                importRow("11.00", "FOOD", "2026-04-01"),
+                importRow("11.00", "FOOD", "2026-04-01"));
+
+        // When/Then
+        mockMvc.perform(post("/api/transactions/import")
+                        .header("Authorization", token)
+                        .param("duplicates", "FLAG")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.rows[0].possibleDuplicate").value(true))
+                .andExpect(jsonPath("$.rows[1].possibleDuplicate").doesNotExist())
+                .andExpect(jsonPath("$.rows[2].possibleDuplicate").value(true));
+    }
+
+    @Test
+    void create_WithSkipWhenDuplicate_ShouldReturn409() throws Exception {
+        // Given
+        createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 4, 1));
+        TransactionRequest request = new TransactionRequest(new BigDecimal("10.00"), "  row 10.00",
+                TransactionType.EXPENSE, Category.TRANSPORT, LocalDate.of(2026, 4, 1), null);
+
+        // When/Then
+        mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", token)
+                        .param("duplicates", "SKIP")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void trends_ByWeek_ShouldBucketOnMondaysAndZeroFillGaps() throws Exception {
+        // Given: 2026-03-30 and 2026-04-20 are Mondays
+        createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 4, 1));
+        createTransaction("15.50", Category.TRANSPORT, LocalDate.of(2026, 4, 5));
+        createTransaction("7.00", Category.FOOD, LocalDate.of(2026, 4, 20));
+
+        // When/Then
+        mockMvc.perform(get("/api/transactions/trends")
+                        .header("Authorization", token)
+                        .param("granularity", "WEEK")
+                        .param("from", "2026-03-30")
+                        .param("to", "2026-04-26"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points.length()").value(4))
+                .andExpect(jsonPath("$.points[0].periodStart").value("2026-03-30"))
+                .andExpect(jsonPath("$.points[0].totalExpenses").value(25.50))
+                .andExpect(jsonPath("$.points[0].expensesByCategory.TRANSPORT").value(15.50))
+                .andExpect(jsonPath("$.points[0].totalTransactions").value(2))
+                .andExpect(jsonPath("$.points[1].periodStart").value("2026-04-06"))
+                .andExpect(jsonPath("$.points[1].totalExpenses").value(0))
+                .andExpect(jsonPath("$.points[2].totalTransactions").value(0))
+                .andExpect(jsonPath("$.points[3].periodStart").value("2026-04-20"))
+                .andExpect(jsonPath("$.points[3].netSavings").value(-7.00));
+    }
+
+    @Test
+    void trends_ByMonth_ShouldZeroFillGapsAndRejectOversizedRanges() throws Exception {
+        // Given
+        createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 1, 15));
+        createTransaction("20.00", Category.FOOD, LocalDate.of(2026, 3, 2));
+
+        // When/Then
+        mockMvc.perform(get("/api/transactions/trends")
+                        .header("Authorization", token)
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("MONTH"))
+                .andExpect(jsonPath("$.points[*].periodStart").value(
+                        contains("2026-01-01", "2026-02-01", "2026-03-01")))
+                .andExpect(jsonPath("$.points[*].totalExpenses").value(
+                        contains(10.00, 0, 20.00)));
+
+        mockMvc.perform(get("/api/transactions/trends")
+                        .header("Authorization", token)
+                        .param("granularity", "DAY")
+                        .param("from", "2020-01-01")
+                        .param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void summary_AfterDeletingOrMovingACategorysLastExpense_ShouldNotListIt() throws Exception {
+        // Given - the rollup rows for FOOD and TRAVEL stay behind with a count of 0
+        long food = createTransaction("10.00", Category.FOOD, LocalDate.of(2026, 4, 1));
+        long travel = createTransaction("20.00", Category.TRAVEL, LocalDate.of(2026, 4, 2));
+        createTransaction("5.00", Category.TRANSPORT, LocalDate.of(2026, 4, 3));
+
+        // When
+        mockMvc.perform(delete("/api/transactions/" + food).header("Authorization", token))
+                .andExpect(status().isNoContent());
+        TransactionRequest moved = new TransactionRequest(new BigDecimal("20.00"), "Row 20.00",
+                TransactionType.EXPENSE, Category.SHOPPING, LocalDate.of(2026, 4, 2), null);
+        mockMvc.perform(put("/api/transactions/" + travel)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(moved)))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/transactions/summary")
+                        .header("Authorization", token)
+                        .param("month", "2026-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExpenses").value(25.00))
+                .andExpect(jsonPath("$.totalTransactions").value(2))
+                .andExpect(jsonPath("$.expensesByCategory.FOOD").doesNotExist())
+                .andExpect(jsonPath("$.expensesByCategory.TRAVEL").doesNotExist())
+                .andExpect(jsonPath("$.expensesByCategory.SHOPPING").value(20.00))
+                .andExpect(jsonPath("$.expensesByCategory.TRANSPORT").value(5.00));
+    }
+
+    private ResultActions importStatement(String csv, String duplicates)
+            throws Exception {
+        return mockMvc.perform(post("/api/transactions/statements")
+                        .header("Authorization", token)
+                        .param("duplicates", duplicates)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk());
+    }
+
+    private static String importRow(String amount, String category, String date) {
+        return "{\"amount\":" + amount + ",\"description\":\"Imported\",\"type\":\"EXPENSE\","
+                + "\"category\":\"" + category + "\",\"transactionDate\":\"" + date + "\"}";
+    }
+
+    private JsonNode scroll(String cursor, Category category) throws Exception {
+        var request = get("/api/transactions/scroll")
+                .header("Authorization", token)
+                .param("size", "2");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        if (category != null) {
+            request.param("category", category.name());
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private long createTransaction(String amount, Category category, LocalDate date) throws Exception {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("Row " + amount);
+        request.setType(TransactionType.EXPENSE);
+        request.setCategory(category);
+        request.setTransactionDate(date);
+
+        String body = mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
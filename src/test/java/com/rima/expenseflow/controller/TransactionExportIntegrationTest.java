@@ -0,0 +1,155 @@
+package com.rima.expenseflow.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not @Transactional: the export body runs on the async executor thread, which would not
+ * see rows from an uncommitted test transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+
+        User user = saveUser("exportuser");
+        User other = saveUser("otheruser");
+        token = "Bearer " + jwtUtil.generateToken(user);
+
+        transactionRepository.saveAll(List.of(
+                transaction(user, "12.50", "Lunch, with \"friends\"", LocalDate.of(2026, 3, 2)),
+                transaction(user, "4.20", "=HYPERLINK(\"x\")", LocalDate.of(2026, 3, 5)),
+                transaction(user, "99.00", "Groceries", LocalDate.of(2026, 1, 15)),
+                transaction(other, "1.00", "Not mine", LocalDate.of(2026, 3, 9))
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exportCsv_ShouldStreamOwnRowsNewestFirstWithEscaping() throws Exception {
+        // When
+        MvcResult result = export("CSV", false);
+
+        // Then
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("id,transactionDate,type,category,amount,description,notes");
+        assertThat(lines.get(1)).contains(",2026-03-05,EXPENSE,FOOD,4.20,\"'=HYPERLINK(\"\"x\"\")\",");
+        assertThat(lines.get(2)).contains(",2026-03-02,EXPENSE,FOOD,12.50,\"Lunch, with \"\"friends\"\"\",");
+        assertThat(lines.get(3)).contains(",2026-01-15,").doesNotContain("Not mine");
+    }
+
+    @Test
+    void exportNdjsonGzip_ShouldStreamCompressedJsonLines() throws Exception {
+        // When
+        MvcResult result = export("NDJSON", true);
+
+        // Then
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .contains("transactions.ndjson.gz");
+        byte[] unzipped = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray())).readAllBytes();
+        List<String> lines = new String(unzipped, StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("transactionDate").asText()).isEqualTo("2026-03-05");
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("4.20");
+        assertThat(first.has("userId")).isFalse();
+    }
+
+    private MvcResult export(String format, boolean gzip) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                        .header("Authorization", token)
+                        .param("format", format)
+                        .param("gzip", String.valueOf(gzip)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andReturn();
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        return userRepository.save(user);
+    }
+
+    private static Transaction transaction(User user, String amount, String description, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription(description);
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setCategory(Category.FOOD);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
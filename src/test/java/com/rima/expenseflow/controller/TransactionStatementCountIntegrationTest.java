@@ -0,0 +1,211 @@
+package com.rima.expenseflow.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.AuthenticatedUser;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each transaction endpoint prepares. The principal
+ * is already cached by the request in setUp, so the JWT filter adds none. Not
+ * @Transactional on purpose: every request must run in its own session, as in production.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+    private String token;
+    private Long userId;
+    private Long transactionId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+
+        User user = new User();
+        user.setUsername("countuser");
+        user.setEmail("count@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+        userId = user.getId();
+        token = "Bearer " + jwtUtil.generateToken(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String body = mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("25.00"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        transactionId = objectMapper.readTree(body).get("id").asLong();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void create_IntoExistingRollupBucket() throws Exception {
+        // insert + rollup update + owner username, plus a sequence call once per 50 ids
+        assertStatements(3, 4, post("/api/transactions")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request("30.00"))));
+    }
+
+    @Test
+    void getById() throws Exception {
+        // transaction joined with owner
+        assertStatements(1, get("/api/transactions/{id}", transactionId).header("Authorization", token));
+    }
+
+    @Test
+    void list() throws Exception {
+        // full page joined with owner + count
+        assertStatements(2, get("/api/transactions").param("size", "1").header("Authorization", token));
+    }
+
+    @Test
+    void scroll() throws Exception {
+        // window joined with owner
+        assertStatements(1, get("/api/transactions/scroll").header("Authorization", token));
+    }
+
+    @Test
+    void update() throws Exception {
+        // owned transaction + update + rollup delta
+        assertStatements(3, put("/api/transactions/{id}", transactionId)
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request("40.00"))));
+    }
+
+    @Test
+    void delete_() throws Exception {
+        // owned transaction + delete + rollup delta
+        assertStatements(3, delete("/api/transactions/{id}", transactionId).header("Authorization", token));
+    }
+
+    @Test
+    void summary() throws Exception {
+        // rollup buckets of the month
+        assertStatements(1, get("/api/transactions/summary")
+                .param("month", "2026-02")
+                .header("Authorization", token));
+    }
+
+    @Test
+    void import_ShouldBatchInserts() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            ndjson.append(objectMapper.writeValueAsString(request("1.00"))).append('\n');
+        }
+
+        // 4 insert batches + 1 rollup update + up to 5 sequence calls, instead of 200+ statements
+        assertStatements(5, 10, post("/api/transactions/import")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.toString()));
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        assertStatements(expected, expected, request);
+    }
+
+    private void assertStatements(long min, long max, RequestBuilder request) throws Exception {
+        statistics.clear();
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        assertThat(status).isLessThan(300);
+        assertThat(statistics.getPrepareStatementCount()).isBetween(min, max);
+    }
+
+    @Test
+    void principalLookup_ShouldHitDatabaseOnlyOnCacheMiss() throws Exception {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+
+        // principal + rollup buckets, then rollup buckets only
+        assertStatements(2, get("/api/transactions/summary").header("Authorization", token));
+        assertStatements(1, get("/api/transactions/summary").header("Authorization", token));
+    }
+
+    @Test
+    void principalCache_ShouldHoldAnImmutablePrincipalRatherThanTheEntity() {
+        // Cached by the request in setUp
+        Object cached = cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).get("countuser").get();
+
+        assertThat(cached).isInstanceOf(AuthenticatedUser.class).isNotInstanceOf(User.class);
+        assertThat(((AuthenticatedUser) cached).id()).isEqualTo(userId);
+        assertThat(cached.toString()).doesNotContain(((AuthenticatedUser) cached).getPassword());
+    }
+
+    private static TransactionRequest request(String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("Coffee");
+        request.setType(TransactionType.EXPENSE);
+        request.setCategory(Category.FOOD);
+        request.setTransactionDate(LocalDate.of(2026, 2, 10));
+        return request;
+    }
+}
@@ -0,0 +1,40 @@
+package com.rima.expenseflow.datasource;
+
+import org.h2.Driver;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionBulkheadTest {
+
+    private final ConnectionBulkhead bulkhead = new ConnectionBulkhead(
+            new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:bulkhead", "sa", ""), 2, Duration.ofMillis(50));
+
+    @Test
+    void getConnection_BeyondPermits_ShouldTimeOutUntilOneIsClosed() throws Exception {
+        // Given
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+
+        // When/Then
+        assertThatThrownBy(bulkhead::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("2 in use");
+
+        first.close();
+        first.close();  // A second close must not hand out an extra permit
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+        try (Connection third = bulkhead.getConnection()) {
+            assertThat(third.isValid(1)).isTrue();
+        }
+        second.close();
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,85 @@
+package com.rima.expenseflow.datasource;
+
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "expenseflow.datasource.bulkhead.permits=1",
+        "expenseflow.datasource.bulkhead.acquire-timeout=100ms"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VirtualThreadModeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = new User();
+        user.setUsername("virtualuser");
+        user.setEmail("virtual@example.com");
+        user.setPassword("password123");
+        token = "Bearer " + jwtUtil.generateToken(userRepository.save(user));
+
+        // Warm the principal cache so the request below needs exactly one connection
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+        mockMvc.perform(get("/api/transactions/summary").header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exhaustedBulkhead_ShouldAnswer503WithRetryAfter() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConnectionBulkhead.class);
+
+        try (Connection held = dataSource.getConnection()) {
+            mockMvc.perform(get("/api/transactions/summary").header("Authorization", token))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.error").value("Service Unavailable"));
+        }
+
+        mockMvc.perform(get("/api/transactions/summary").header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+}
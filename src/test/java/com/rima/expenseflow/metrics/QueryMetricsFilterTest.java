@@ -0,0 +1,66 @@
+package com.rima.expenseflow.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryMetricsFilterTest {
+
+    private static final String LOOKUP = "select c1_0.id,c1_0.name from categories c1_0 where c1_0.id=?";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void repeatedSelect_InFailMode_ShouldThrowAfterRecordingTheRequest() {
+        // Given
+        QueryMetricsFilter filter = new QueryMetricsFilter(registry, QueryMetricsFilter.Mode.FAIL, 5);
+
+        // When/Then
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), issuing(LOOKUP, 5)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GET /api/transactions/{id}")
+                .hasMessageContaining("5x " + LOOKUP);
+        assertThat(registry.get("expenseflow.db.statements").tag("uri", "/api/transactions/{id}")
+                .summary().totalAmount()).isEqualTo(5);
+        assertThat(registry.get("expenseflow.db.repeated.selects").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sequenceCallsAndSelectsBelowThreshold_ShouldNotBeReported() throws Exception {
+        // Given
+        QueryMetricsFilter filter = new QueryMetricsFilter(registry, QueryMetricsFilter.Mode.FAIL, 5);
+        FilterChain chain = (request, response) -> {
+            issuing("select next value for transactions_seq", 20).doFilter(request, response);
+            issuing(LOOKUP, 4).doFilter(request, response);
+        };
+
+        // When
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(registry.get("expenseflow.db.statements").summary().totalAmount()).isEqualTo(24);
+        assertThat(registry.find("expenseflow.db.repeated.selects").counter()).isNull();
+        assertThat(QueryStats.current()).isNull();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions/{id}");
+        return request;
+    }
+
+    private static FilterChain issuing(String sql, int times) {
+        return (request, response) -> {
+            for (int i = 0; i < times; i++) {
+                QueryStats.current().statement(sql);
+            }
+        };
+    }
+}
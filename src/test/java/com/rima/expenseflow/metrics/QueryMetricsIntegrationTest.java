@@ -0,0 +1,82 @@
+package com.rima.expenseflow.metrics;
+
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import com.rima.expenseflow.security.JwtUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class QueryMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+
+        User user = new User();
+        user.setUsername("metricsuser");
+        user.setEmail("metrics@example.com");
+        user.setPassword("password123");
+        token = "Bearer " + jwtUtil.generateToken(userRepository.save(user));
+    }
+
+    @Test
+    void request_ShouldRecordStatementsAndJdbcTimeUnderItsUriPattern() throws Exception {
+        // Given
+        DistributionSummary statements = registry.summary("expenseflow.db.statements",
+                "method", "GET", "uri", "/api/transactions/summary");
+        Timer jdbcTime = registry.timer("expenseflow.db.time",
+                "method", "GET", "uri", "/api/transactions/summary");
+        long requestsBefore = statements.count();
+        double statementsBefore = statements.totalAmount();
+        double nanosBefore = jdbcTime.totalTime(TimeUnit.NANOSECONDS);
+
+        // When - principal lookup plus the rollup read
+        mockMvc.perform(get("/api/transactions/summary").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(statements.count()).isEqualTo(requestsBefore + 1);
+        assertThat(statements.totalAmount() - statementsBefore).isGreaterThanOrEqualTo(2);
+        assertThat(jdbcTime.totalTime(TimeUnit.NANOSECONDS)).isGreaterThan(nanosBefore);
+        assertThat(registry.find("hibernate.statements").functionCounter()).isNotNull();
+        assertThat(registry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
+}
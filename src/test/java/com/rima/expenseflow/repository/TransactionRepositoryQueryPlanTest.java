@@ -0,0 +1,151 @@
+package com.rima.expenseflow.repository;
+
+import com.rima.expenseflow.dto.TransactionFilter;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL generated by each TransactionRepository finder and fails
+ * when the plan falls back to a full scan of the transactions table.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.rima.expenseflow.repository.CapturingStatementInspector")
+@ActiveProfiles("test")
+@Transactional
+class TransactionRepositoryQueryPlanTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 1, 31);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "transactionDate"));
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("planuser");
+        user.setEmail("plan@example.com");
+        user.setPassword("password123");
+        user = userRepository.saveAndFlush(user);
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void userIdFinders_ShouldUseIndexes() {
+        assertIndexed(() -> transactionRepository.findByUserId(user.getId(), pageable));
+        assertIndexed(() -> transactionRepository.findByUserIdAndType(user.getId(), TransactionType.EXPENSE, pageable));
+        assertIndexed(() -> transactionRepository.findByUserIdAndCategory(user.getId(), Category.FOOD, pageable));
+        assertIndexed(() -> transactionRepository.findByUserIdAndTypeAndCategory(
+                user.getId(), TransactionType.EXPENSE, Category.FOOD, pageable));
+        assertIndexed(() -> transactionRepository.findByIdAndUserId(1L, user.getId()));
+    }
+
+    @Test
+    void keysetScroll_ShouldUseIndexes() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "transactionDate").and(Sort.by(Sort.Direction.DESC, "id"));
+        ScrollPosition position = ScrollPosition.forward(Map.of("transactionDate", TO, "id", 42L));
+
+        assertIndexed(() -> transactionRepository.findBy(
+                TransactionSpecifications.ownedBy(user.getId()),
+                query -> query.sortBy(sort).limit(20).scroll(position)));
+    }
+
+    @Test
+    void combinedFilterSpecification_ShouldUseIndexes() {
+        TransactionFilter filter = TransactionFilter.builder()
+                .type(TransactionType.EXPENSE)
+                .category(Category.FOOD)
+                .from(FROM)
+                .to(TO)
+                .minAmount(BigDecimal.ONE)
+                .maxAmount(BigDecimal.TEN)
+                .search("coffee")
+                .build();
+
+        assertIndexed(() -> transactionRepository.findAll(
+                TransactionSpecifications.matching(user.getId(), filter), pageable));
+    }
+
+    @Test
+    void userEntityFinders_ShouldUseIndexes() {
+        assertIndexed(() -> transactionRepository.findByUser(user, pageable));
+        assertIndexed(() -> transactionRepository.findByUserAndType(user, TransactionType.INCOME, pageable));
+        assertIndexed(() -> transactionRepository.findByUserAndCategory(user, Category.SALARY, pageable));
+        assertIndexed(() -> transactionRepository.findByUserAndTransactionDateBetween(user, FROM, TO));
+        assertIndexed(() -> transactionRepository.findByUserAndTypeAndTransactionDateBetween(
+                user, TransactionType.EXPENSE, FROM, TO));
+    }
+
+    @Test
+    void aggregateQueries_ShouldUseIndexes() {
+        assertIndexed(() -> transactionRepository.calculateTotalByUserAndType(user, TransactionType.EXPENSE));
+        assertIndexed(() -> transactionRepository.calculateTotalByUserAndTypeAndDateRange(
+                user, TransactionType.EXPENSE, FROM, TO));
+        assertIndexed(() -> transactionRepository.getCategoryBreakdown(user, TransactionType.EXPENSE));
+        assertIndexed(() -> transactionRepository.summarizeByTypeAndCategory(user.getId(), FROM, TO));
+        assertIndexed(() -> transactionRepository.summarizeByMonth(user.getId()));
+        assertIndexed(() -> transactionRepository.summarizeByDay(user.getId(), FROM, TO));
+        assertIndexed(() -> transactionRepository.summarizeByWeek(user.getId(), FROM, TO));
+        assertIndexed(() -> transactionRepository.summarizeByMonthStart(user.getId(), FROM, TO));
+    }
+
+    @Test
+    void exportStream_ShouldUseIndexes() {
+        assertIndexed(() -> {
+            try (var rows = transactionRepository.streamForExport(user.getId())) {
+                rows.forEach(row -> { });
+            }
+        });
+    }
+
+    @Test
+    void duplicateDetectionQueries_ShouldUseIndexes() {
+        assertIndexed(() -> transactionRepository.findExistingFingerprints(user.getId(), List.of("a", "b")));
+        assertIndexed(() -> {
+            try (var fingerprints = transactionRepository.streamFingerprints(user.getId())) {
+                fingerprints.forEach(fingerprint -> { });
+            }
+        });
+    }
+
+    private void assertIndexed(Runnable finder) {
+        finder.run();
+        List<String> statements = CapturingStatementInspector.drain();
+        assertThat(statements).as("captured SQL").isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertThat(plan)
+                    .as("plan for %s", sql)
+                    .doesNotContainIgnoringCase("TRANSACTIONS.tableScan");
+        }
+    }
+}
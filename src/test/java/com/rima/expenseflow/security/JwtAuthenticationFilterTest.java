@@ -0,0 +1,164 @@
+package com.rima.expenseflow.security;
+
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyForTestingPurposesOnly1234567890";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_ShouldBuildPrincipalFromClaimsWithoutLookup() throws Exception {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, true);
+        String token = jwtUtil.generateToken(user(42L, "claimuser", "ROLE_ADMIN"));
+
+        // When
+        Authentication authentication = authenticate(jwtUtil, token);
+
+        // Then
+        assertThat(authentication).isNotNull();
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertThat(principal.id()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("claimuser");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void statelessMode_WhenTokenHasNoUserIdClaim_ShouldFallBackToLookup() throws Exception {
+        // Given - token issued before the uid/role claims were added
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, true);
+        String token = Jwts.builder()
+                .subject("legacyuser")
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        AuthenticatedUser stored = AuthenticatedUser.of(user(7L, "legacyuser", "ROLE_USER"));
+        when(userDetailsService.loadUserByUsername("legacyuser")).thenReturn(stored);
+
+        // When
+        Authentication authentication = authenticate(jwtUtil, token);
+
+        // Then
+        assertThat(authentication.getPrincipal()).isSameAs(stored);
+    }
+
+    @Test
+    void defaultMode_ShouldLoadPrincipalFromUserDetailsService() throws Exception {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, false);
+        User user = user(1L, "dbuser", "ROLE_USER");
+        String token = jwtUtil.generateToken(user);
+        AuthenticatedUser stored = AuthenticatedUser.of(user);
+        when(userDetailsService.loadUserByUsername("dbuser")).thenReturn(stored);
+
+        // When
+        Authentication authentication = authenticate(jwtUtil, token);
+
+        // Then
+        assertThat(authentication.getPrincipal()).isSameAs(stored);
+    }
+
+    @Test
+    void expiredToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil(SECRET, -1000, true);
+        String token = jwtUtil.generateToken(user(1L, "expired", "ROLE_USER"));
+
+        // When
+        Authentication authentication = authenticate(jwtUtil, token);
+
+        // Then
+        assertThat(authentication).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void revokedTokenOrSession_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, true);
+        User user = user(1L, "revoked", "ROLE_USER");
+        String revokedToken = jwtUtil.generateAccessToken(user, "session-a");
+        String revokedSession = jwtUtil.generateAccessToken(user, "session-b");
+        TokenRevocationList revocationList = new TokenRevocationList(revokedTokenRepository);
+        Instant later = Instant.now().plusSeconds(3600);
+        revocationList.remember(jwtUtil.parse(revokedToken).getId(), later);
+        revocationList.remember("session-b", later);
+
+        // When/Then
+        assertThat(authenticate(jwtUtil, revokedToken, revocationList)).isNull();
+        assertThat(authenticate(jwtUtil, revokedSession, revocationList)).isNull();
+        assertThat(authenticate(jwtUtil, jwtUtil.generateAccessToken(user, "session-c"), revocationList))
+                .isNotNull();
+    }
+
+    @Test
+    void refreshToken_ShouldNotAuthenticateRequests() throws Exception {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000, true);
+        String refreshToken = jwtUtil.generateRefreshToken(user(1L, "refresher", "ROLE_USER"), "session");
+
+        // When/Then
+        assertThat(authenticate(jwtUtil, refreshToken)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private Authentication authenticate(JwtUtil jwtUtil, String token) throws Exception {
+        return authenticate(jwtUtil, token, new TokenRevocationList(revokedTokenRepository));
+    }
+
+    private Authentication authenticate(JwtUtil jwtUtil, String token, TokenRevocationList revocationList)
+            throws Exception {
+        SecurityContextHolder.clearContext();
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.setServletPath("/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static User user(Long id, String username, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(role);
+        return user;
+    }
+}
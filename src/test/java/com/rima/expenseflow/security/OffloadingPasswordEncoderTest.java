@@ -0,0 +1,95 @@
+package com.rima.expenseflow.security;
+
+import com.rima.expenseflow.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadingPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldFailFast() {
+        // Given - one hashing thread blocked on the first call, and room for one more in the queue
+        encoder = new OffloadingPasswordEncoder(blocking(new BCryptPasswordEncoder(4)), 4, 1, 1, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        waitUntil(() -> registry.get("executor.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitUntil(() -> encoder.getQueueDepth() == 1);
+
+        // When/Then
+        assertThatThrownBy(() -> encoder.matches("third", "$2a$04$abc"))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        String first = running.join();
+        String second = queued.join();
+        assertThat(encoder.matches("first", first)).isTrue();
+        assertThat(encoder.matches("second", second)).isTrue();
+        assertThat(registry.get("expenseflow.password.hash").tag("operation", "encode").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagHashesOfAnotherStrength() {
+        // Given
+        encoder = new OffloadingPasswordEncoder(5, 1, 1, registry);
+
+        // When/Then
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+        assertThat(encoder.upgradeEncoding("not a bcrypt hash")).isFalse();
+    }
+
+    private PasswordEncoder blocking(PasswordEncoder delegate) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                awaitRelease();
+                return delegate.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                awaitRelease();
+                return delegate.matches(rawPassword, encodedPassword);
+            }
+        };
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.rima.expenseflow.security;
+
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "expenseflow.rate-limit.requests-per-second=1",
+        "expenseflow.rate-limit.burst=5",
+        "expenseflow.rate-limit.summary-cost=5"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CustomUserDetailsService.PRINCIPAL_CACHE).clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void summary_WhenUsersBudgetIsSpent_ShouldAnswer429WithRetryAfter() throws Exception {
+        // Given
+        String poller = token("poller");
+        String bystander = token("bystander");
+
+        // When/Then - one summary spends the whole burst
+        mockMvc.perform(get("/api/transactions/summary").header("Authorization", poller))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/transactions/summary").header("Authorization", poller))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                .andExpect(jsonPath("$.path").value("/api/transactions/summary"));
+        mockMvc.perform(get("/api/transactions").header("Authorization", poller))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        mockMvc.perform(get("/api/transactions/summary").header("Authorization", bystander))
+                .andExpect(status().isOk());
+    }
+
+    private String token(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        user.setRole("ROLE_USER");
+        return "Bearer " + jwtUtil.generateToken(userRepository.save(user));
+    }
+}
@@ -0,0 +1,86 @@
+package com.rima.expenseflow.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_ShouldAdmitTheBurstThenRefillAtTheRate() {
+        // Given - 10 per second, burst of 5
+        AtomicLong clock = new AtomicLong(SECOND);
+        RateLimiter limiter = new RateLimiter(10, 5, 100, clock::get);
+
+        // When/Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(1L, 1)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1L, 1)).isEqualTo(SECOND / 10);
+        assertThat(limiter.tryAcquire(2L, 1)).as("other users have their own bucket").isZero();
+
+        clock.addAndGet(SECOND / 10);
+        assertThat(limiter.tryAcquire(1L, 1)).isZero();
+        assertThat(limiter.tryAcquire(1L, 1)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_ShouldChargeTheCostAndCapItAtTheBurst() {
+        // Given
+        AtomicLong clock = new AtomicLong(SECOND);
+        RateLimiter limiter = new RateLimiter(10, 5, 100, clock::get);
+
+        // When/Then - a cost of 3 leaves 2 permits
+        assertThat(limiter.tryAcquire(1L, 3)).isZero();
+        assertThat(limiter.tryAcquire(1L, 3)).isEqualTo(SECOND / 10);
+        assertThat(limiter.tryAcquire(1L, 2)).isZero();
+
+        // A cost above the burst still goes through on a full bucket
+        clock.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire(1L, 50)).isZero();
+        assertThat(limiter.tryAcquire(1L, 1)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void tryAcquire_WhenRacing_ShouldNeverAdmitMoreThanTheBurst() throws Exception {
+        // Given - a frozen clock, so nothing refills while the threads race
+        RateLimiter limiter = new RateLimiter(1, 100, 100, () -> SECOND);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> admitted = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                admitted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire(1L, 1) == 0) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        int total = 0;
+        for (Future<Integer> result : admitted) {
+            total += result.get();
+        }
+        assertThat(total).isEqualTo(100);
+    }
+}
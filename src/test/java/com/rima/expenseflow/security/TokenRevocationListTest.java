@@ -0,0 +1,75 @@
+package com.rima.expenseflow.security;
+
+import com.rima.expenseflow.model.RevokedToken;
+import com.rima.expenseflow.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    @Test
+    void revoke_WhenIdWasAlreadyRevokedElsewhere_ShouldReturnFalse() {
+        // Given - another node inserted the row first
+        TokenRevocationList revocationList = new TokenRevocationList(repository);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        when(repository.insert(anyString(), eq(expiresAt), any())).thenAnswer(invocation -> {
+            if ("reused".equals(invocation.getArgument(0))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return 1;
+        });
+
+        // When/Then
+        assertThat(revocationList.revoke("fresh", expiresAt)).isTrue();
+        assertThat(revocationList.revoke("reused", expiresAt)).isFalse();
+        assertThat(revocationList.isRevoked("fresh")).isTrue();
+        assertThat(revocationList.isRevoked("reused")).isTrue();
+        assertThat(revocationList.isRevoked("other")).isFalse();
+    }
+
+    @Test
+    void isRevoked_ShouldForgetEntriesOnceTheirTokensHaveExpired() throws InterruptedException {
+        // Given
+        TokenRevocationList revocationList = new TokenRevocationList(repository);
+        revocationList.remember("short", Instant.now().plusMillis(50));
+        revocationList.remember("long", Instant.now().plusSeconds(60));
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertThat(revocationList.isRevoked("short")).isFalse();
+        assertThat(revocationList.isRevoked("long")).isTrue();
+    }
+
+    @Test
+    void load_ShouldRestoreRevocationsThatAreStillLive() {
+        // Given - rows written before a restart
+        Instant later = Instant.now().plusSeconds(60);
+        when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(new RevokedToken("session", later, Instant.now())));
+        TokenRevocationList revocationList = new TokenRevocationList(repository);
+
+        // When
+        revocationList.load();
+
+        // Then
+        assertThat(revocationList.isRevoked("session")).isTrue();
+    }
+}
@@ -0,0 +1,111 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.BalanceResponse;
+import com.rima.expenseflow.dto.BalanceTotals;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.BalanceSnapshot;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.BalanceSnapshotRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BalanceServiceIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate CLOSED = TODAY.minusYears(2).withDayOfYear(1);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("balanceuser");
+        user.setEmail("balance@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void getBalance_ShouldSnapshotClosedYearsAndAddTheOpenYear() {
+        // Given
+        create("2500.00", TransactionType.INCOME, Category.SALARY, CLOSED.plusMonths(1));
+        create("900.00", TransactionType.EXPENSE, Category.HOUSING, CLOSED.plusMonths(2));
+        create("40.00", TransactionType.EXPENSE, Category.FOOD, TODAY);
+
+        // When
+        BalanceResponse balance = balanceService.getBalance(user.getId());
+
+        // Then
+        assertThat(balance.getAllTime().getTotalIncome()).isEqualByComparingTo("2500.00");
+        assertThat(balance.getAllTime().getTotalExpenses()).isEqualByComparingTo("940.00");
+        assertThat(balance.getAllTime().getNetBalance()).isEqualByComparingTo("1560.00");
+        assertThat(balance.getYearToDate().getTotalExpenses()).isEqualByComparingTo("40.00");
+        assertThat(balance.getYears()).extracting(BalanceTotals::getYear)
+                .containsExactly(CLOSED.getYear(), TODAY.getYear());
+        assertThat(snapshotRepository.findByUserId(user.getId()))
+                .extracting(BalanceSnapshot::getPeriodYear)
+                .containsOnly(CLOSED.getYear())
+                .hasSize(2);
+    }
+
+    @Test
+    void backDatedWrite_ShouldInvalidateOnlyItsClosedYear() {
+        // Given
+        create("900.00", TransactionType.EXPENSE, Category.HOUSING, CLOSED);
+        create("100.00", TransactionType.EXPENSE, Category.HOUSING, CLOSED.plusYears(1));
+        balanceService.getBalance(user.getId());
+        assertThat(snapshotRepository.findByUserId(user.getId())).hasSize(2);
+
+        // When
+        create("50.00", TransactionType.EXPENSE, Category.FOOD, CLOSED.plusDays(3));
+
+        // Then
+        assertThat(snapshotRepository.findByUserId(user.getId()))
+                .extracting(BalanceSnapshot::getPeriodYear)
+                .containsExactly(CLOSED.getYear() + 1);
+
+        BalanceResponse balance = balanceService.getBalance(user.getId());
+        assertThat(balance.getYears().get(0).getTotalExpenses()).isEqualByComparingTo("950.00");
+        assertThat(balance.getYears().get(0).getExpensesByCategory()).containsOnlyKeys("HOUSING", "FOOD");
+        assertThat(balance.getAllTime().getTotalTransactions()).isEqualTo(3);
+        assertThat(snapshotRepository.findByUserId(user.getId())).hasSize(3);
+    }
+
+    private void create(String amount, TransactionType type, Category category, LocalDate date) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("Test " + category + " " + date);
+        request.setType(type);
+        request.setCategory(category);
+        request.setTransactionDate(date);
+        transactionService.createTransaction(user.getId(), request, DuplicatePolicy.ALLOW);
+    }
+}
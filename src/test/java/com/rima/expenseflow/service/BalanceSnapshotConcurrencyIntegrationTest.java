@@ -0,0 +1,131 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.BalanceResponse;
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.BalanceSnapshotRepository;
+import com.rima.expenseflow.repository.MonthlyRollupRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the back-dated write has to stay uncommitted while the balance is read
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceSnapshotConcurrencyIntegrationTest {
+
+    private static final LocalDate CLOSED = LocalDate.now().minusYears(2).withDayOfYear(1);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("snapshotuser");
+        user.setEmail("snapshot@example.com");
+        user.setPassword("password123");
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotRepository.deleteAll();
+        rollupRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getBalance_WhenBackDatedWriteCommitsDuringMaterialization_ShouldNotKeepAStaleSnapshot() throws Exception {
+        // Given - a closed year with no snapshot yet
+        create("900.00", CLOSED);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When - a write into that year is pending while the year is read
+            Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                create("50.00", CLOSED.plusDays(3));
+                written.countDown();
+                await(commit);
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<BalanceResponse> reader = executor.submit(() -> balanceService.getBalance(userId));
+            try {
+                reader.get(300, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Expected: the reader waits for the write's lock
+            }
+            commit.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+
+            // Then - whatever the reader saw, the stored snapshot includes the write
+            assertThat(reader.get(10, TimeUnit.SECONDS).getAllTime().getTotalExpenses())
+                    .isEqualByComparingTo("950.00");
+            assertThat(balanceService.getBalance(userId).getAllTime().getTotalExpenses())
+                    .isEqualByComparingTo("950.00");
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void create(String amount, LocalDate date) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("Rent " + date);
+        request.setType(TransactionType.EXPENSE);
+        request.setCategory(Category.HOUSING);
+        request.setTransactionDate(date);
+        transactionService.createTransaction(userId, request, DuplicatePolicy.ALLOW);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
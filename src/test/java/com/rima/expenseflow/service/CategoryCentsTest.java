@@ -0,0 +1,39 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryCentsTest {
+
+    @Test
+    void add_ShouldSumExactlyAndListOnlySeenCategories() {
+        // Given - 0.10 + 0.20 is the classic binary floating point trap
+        CategoryCents cents = new CategoryCents();
+        cents.add(TransactionType.EXPENSE, Category.FOOD, CategoryCents.toCents(new BigDecimal("0.10")), 1);
+        cents.add(TransactionType.EXPENSE, Category.FOOD, CategoryCents.toCents(new BigDecimal("0.20")), 1);
+        cents.add(TransactionType.EXPENSE, Category.TRAVEL, 0, 0);
+        cents.add(TransactionType.INCOME, Category.SALARY, CategoryCents.toCents(new BigDecimal("2500")), 1);
+
+        // Then
+        assertThat(cents.total(TransactionType.EXPENSE)).isEqualTo(new BigDecimal("0.30"));
+        assertThat(cents.total(TransactionType.INCOME)).isEqualTo(new BigDecimal("2500.00"));
+        assertThat(cents.net()).isEqualTo(new BigDecimal("2499.70"));
+        assertThat(cents.byCategory(TransactionType.EXPENSE))
+                .containsEntry("FOOD", new BigDecimal("0.30"))
+                .containsEntry("TRAVEL", BigDecimal.ZERO)
+                .hasSize(2);
+        assertThat(cents.count()).isEqualTo(3);
+    }
+
+    @Test
+    void toCents_ShouldRoundHalfUpToTheColumnScale() {
+        assertThat(CategoryCents.toCents(new BigDecimal("12.345"))).isEqualTo(1235);
+        assertThat(CategoryCents.toCents(new BigDecimal("-12.345"))).isEqualTo(-1235);
+        assertThat(CategoryCents.toAmount(-1235)).isEqualTo(new BigDecimal("-12.35"));
+    }
+}
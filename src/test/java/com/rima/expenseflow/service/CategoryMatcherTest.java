@@ -0,0 +1,100 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.model.CategorizationRule;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
+import com.rima.expenseflow.model.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CategoryMatcherTest {
+
+    @Test
+    void categorize_ShouldPickLowestPriorityAmongMatchingRules() {
+        // Given - "uber eats" is more specific but only wins through its priority
+        CategoryMatcher matcher = CategoryMatcher.compile(List.of(
+                rule("uber eats", Category.FOOD, 0),
+                rule("uber", Category.TRANSPORT, 1)));
+
+        // Then
+        assertThat(categorize(matcher, "UBER EATS *ORDER 123", "18.00")).isEqualTo(Category.FOOD);
+        assertThat(categorize(matcher, "Uber trip", "9.00")).isEqualTo(Category.TRANSPORT);
+    }
+
+    @Test
+    void categorize_ShouldRespectAmountRangeAndType() {
+        // Given
+        CategorizationRule big = rule("amazon", Category.HOUSING, 0);
+        big.setMinAmount(new BigDecimal("500.00"));
+        CategoryMatcher matcher = CategoryMatcher.compile(List.of(
+                big,
+                rule("amazon", Category.SHOPPING, 1),
+                rule("acme", Category.SALARY, 2)));
+
+        // Then
+        assertThat(categorize(matcher, "AMAZON MKTPLACE", "799.00")).isEqualTo(Category.HOUSING);
+        assertThat(categorize(matcher, "AMAZON MKTPLACE", "25.00")).isEqualTo(Category.SHOPPING);
+        assertThat(categorize(matcher, "ACME payroll", "25.00")).isEqualTo(Category.OTHER_EXPENSE);
+        assertThat(matcher.categorize("ACME payroll", new BigDecimal("3000.00"), TransactionType.INCOME))
+                .isEqualTo(Category.SALARY);
+    }
+
+    @Test
+    void categorize_ShouldTryRegexRulesOnlyAboveBestKeywordMatch() {
+        // Given
+        CategorizationRule regex = rule("^card \\d{4} shell", Category.TRAVEL, 5);
+        regex.setMatchType(RuleMatchType.REGEX);
+        CategoryMatcher matcher = CategoryMatcher.compile(List.of(
+                rule("fuel", Category.TRANSPORT, 1),
+                regex));
+
+        // Then
+        assertThat(categorize(matcher, "Card 1234 SHELL fuel", "60.00")).isEqualTo(Category.TRANSPORT);
+        assertThat(categorize(matcher, "Card 1234 SHELL station", "60.00")).isEqualTo(Category.TRAVEL);
+        assertThat(categorize(matcher, "Shell station", "60.00")).isEqualTo(Category.OTHER_EXPENSE);
+    }
+
+    @Test
+    void categorize_WithNoRules_ShouldFallBackByType() {
+        assertThat(categorize(CategoryMatcher.EMPTY, "anything", "1.00")).isEqualTo(Category.OTHER_EXPENSE);
+        assertThat(CategoryMatcher.EMPTY.categorize("anything", BigDecimal.ONE, TransactionType.INCOME))
+                .isEqualTo(Category.OTHER_INCOME);
+    }
+
+    @Test
+    void categorize_WithCatastrophicRegex_ShouldCutItOffAndTryTheNextRule() {
+        // Given - (a+)+$ backtracks exponentially on a run of a's that does not end the text
+        CategorizationRule pathological = rule("(a+)+$", Category.FOOD, 0);
+        pathological.setMatchType(RuleMatchType.REGEX);
+        CategorizationRule fallback = rule("a{3}", Category.SHOPPING, 1);
+        fallback.setMatchType(RuleMatchType.REGEX);
+        CategoryMatcher matcher = CategoryMatcher.compile(List.of(pathological, fallback));
+        String description = "a".repeat(200) + "!";
+
+        // When/Then - without the step limit this would not finish
+        Category category = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> categorize(matcher, description, "10.00"));
+        assertThat(category).isEqualTo(Category.SHOPPING);
+        assertThat(categorize(matcher, "aaaa", "10.00")).isEqualTo(Category.FOOD);
+    }
+
+    private static Category categorize(CategoryMatcher matcher, String description, String amount) {
+        return matcher.categorize(description, new BigDecimal(amount), TransactionType.EXPENSE);
+    }
+
+    private static CategorizationRule rule(String pattern, Category category, int priority) {
+        CategorizationRule rule = new CategorizationRule();
+        rule.setPattern(pattern);
+        rule.setMatchType(RuleMatchType.CONTAINS);
+        rule.setCategory(category);
+        rule.setType(category.getType());
+        rule.setPriority(priority);
+        return rule;
+    }
+}
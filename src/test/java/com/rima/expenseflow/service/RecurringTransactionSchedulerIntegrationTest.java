@@ -0,0 +1,155 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.RecurringRunResponse;
+import com.rima.expenseflow.dto.RecurringTransactionRequest;
+import com.rima.expenseflow.dto.RecurringTransactionResponse;
+import com.rima.expenseflow.model.Transaction;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RecurrenceFrequency;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.RecurringTransactionRepository;
+import com.rima.expenseflow.repository.TransactionRepository;
+import com.rima.expenseflow.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecurringTransactionSchedulerIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private RecurringTransactionService recurringService;
+
+    @Autowired
+    private RecurringTransactionScheduler scheduler;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecurringTransactionRepository recurringRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser("recurringuser");
+    }
+
+    @Test
+    void run_ShouldCatchUpDueOccurrencesOnceAcrossRepeatedRuns() {
+        // Given
+        LocalDate start = TODAY.minusMonths(3);
+        recurringService.createTemplate(user.getId(), request("1200.00", RecurrenceFrequency.MONTHLY, 1, start, null));
+
+        // When
+        RecurringRunResponse first = scheduler.run(TODAY);
+        RecurringRunResponse second = scheduler.run(TODAY);
+
+        // Then
+        assertThat(first.getTransactionsCreated()).isEqualTo(4);
+        assertThat(second.getTransactionsCreated()).isZero();
+        assertThat(transactionRepository.findByUserAndTransactionDateBetween(user, start, TODAY))
+                .extracting(Transaction::getTransactionDate)
+                .containsExactlyInAnyOrder(start, start.plusMonths(1), start.plusMonths(2), start.plusMonths(3));
+        assertThat(recurringService.getTemplates(user.getId()).get(0).getNextRunDate())
+                .isEqualTo(start.plusMonths(4));
+        assertThat(rollupService.verify(user.getId()).isConsistent()).isTrue();
+    }
+
+    @Test
+    void update_ShouldRescheduleAfterTheLastMaterializedOccurrence() {
+        // Given
+        LocalDate start = TODAY.minusDays(10);
+        RecurringTransactionResponse template = recurringService.createTemplate(user.getId(),
+                request("15.00", RecurrenceFrequency.DAILY, 1, start, null));
+        scheduler.run(TODAY);
+
+        // When: every 7 days from the same start; days 0 and 7 already exist
+        RecurringTransactionResponse updated = recurringService.updateTemplate(user.getId(), template.getId(),
+                request("15.00", RecurrenceFrequency.DAILY, 7, start, null));
+        scheduler.run(TODAY);
+
+        // Then
+        assertThat(updated.getLastRunDate()).isEqualTo(TODAY);
+        assertThat(updated.getNextRunDate()).isEqualTo(start.plusDays(14));
+        assertThat(transactionRepository.findByUserAndTransactionDateBetween(user, start, TODAY)).hasSize(11);
+    }
+
+    @Test
+    void run_ShouldStopAtEndDateAndClampMonthEnds() {
+        // Given: the 31st of a month a few months back
+        LocalDate start = TODAY.minusMonths(4).withDayOfMonth(1).minusDays(1);
+        recurringService.createTemplate(user.getId(),
+                request("9.99", RecurrenceFrequency.MONTHLY, 1, start, start.plusMonths(2)));
+
+        // When
+        RecurringRunResponse run = scheduler.run(TODAY);
+
+        // Then
+        assertThat(run.getTransactionsCreated()).isEqualTo(3);
+        assertThat(recurringService.getTemplates(user.getId()).get(0).getNextRunDate()).isNull();
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(LocalDate.of(2027, 1, 31), 1, 1))
+                .isEqualTo(LocalDate.of(2027, 2, 28));
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(LocalDate.of(2027, 1, 31), 1, 2))
+                .isEqualTo(LocalDate.of(2027, 3, 31));
+    }
+
+    @Test
+    void run_WhenATemplateOwnerIsDeleted_ShouldStillMaterializeEveryoneElse() {
+        // Given - one owner deleted through UserService, one whose row vanished without it
+        LocalDate start = TODAY.minusDays(2);
+        recurringService.createTemplate(user.getId(), request("5.00", RecurrenceFrequency.DAILY, 1, start, null));
+        User deleted = saveUser("deleteduser");
+        recurringService.createTemplate(deleted.getId(), request("6.00", RecurrenceFrequency.DAILY, 1, start, null));
+        User orphaned = saveUser("orphaneduser");
+        recurringService.createTemplate(orphaned.getId(), request("7.00", RecurrenceFrequency.DAILY, 1, start, null));
+
+        // When
+        userService.deleteUser(deleted.getId());
+        assertThat(recurringRepository.countByUserId(deleted.getId())).isZero();
+        userRepository.delete(orphaned);
+        RecurringRunResponse run = scheduler.run(TODAY);
+
+        // Then
+        assertThat(run.getTransactionsCreated()).isEqualTo(3);
+        assertThat(transactionRepository.findByUserAndTransactionDateBetween(user, start, TODAY)).hasSize(3);
+        assertThat(recurringRepository.countByUserId(orphaned.getId())).isZero();
+    }
+
+    private User saveUser(String username) {
+        User created = new User();
+        created.setUsername(username);
+        created.setEmail(username + "@example.com");
+        created.setPassword("password123");
+        return userRepository.save(created);
+    }
+
+    private static RecurringTransactionRequest request(String amount, RecurrenceFrequency frequency, int interval,
+                                                       LocalDate start, LocalDate end) {
+        return new RecurringTransactionRequest(new BigDecimal(amount), "Recurring " + frequency,
+                TransactionType.EXPENSE, Category.HOUSING, null, frequency, interval, start, end);
+    }
+}
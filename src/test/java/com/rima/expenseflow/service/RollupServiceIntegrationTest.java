@@ -0,0 +1,104 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.dto.TransactionRequest;
+import com.rima.expenseflow.dto.TransactionResponse;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.TransactionType;
+import com.rima.expenseflow.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RollupServiceIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("rollupuser");
+        user.setEmail("rollup@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void writes_ShouldKeepRollupsConsistentWithTransactions() {
+        // Given
+        TransactionResponse groceries = transactionService.createTransaction(user.getId(),
+                request("40.00", TransactionType.EXPENSE, Category.FOOD, LocalDate.of(2026, 1, 15)),
+                DuplicatePolicy.ALLOW);
+        transactionService.createTransaction(user.getId(),
+                request("2500.00", TransactionType.INCOME, Category.SALARY, LocalDate.of(2026, 1, 31)),
+                DuplicatePolicy.ALLOW);
+        TransactionResponse rent = transactionService.createTransaction(user.getId(),
+                request("900.00", TransactionType.EXPENSE, Category.HOUSING, LocalDate.of(2026, 1, 1)),
+                DuplicatePolicy.ALLOW);
+
+        // When - move groceries to February and another category, drop rent
+        transactionService.updateTransaction(user.getId(), groceries.getId(),
+                request("55.00", TransactionType.EXPENSE, Category.SHOPPING, LocalDate.of(2026, 2, 3)));
+        transactionService.deleteTransaction(user.getId(), rent.getId());
+
+        // Then
+        MonthlySummaryResponse january = transactionService.getMonthlySummary(user.getId(), YearMonth.of(2026, 1));
+        MonthlySummaryResponse february = transactionService.getMonthlySummary(user.getId(), YearMonth.of(2026, 2));
+
+        assertThat(january.getTotalIncome()).isEqualByComparingTo("2500.00");
+        assertThat(january.getTotalExpenses()).isEqualByComparingTo("0.00");
+        assertThat(january.getTotalTransactions()).isEqualTo(1);
+        assertThat(february.getExpensesByCategory()).containsOnlyKeys("SHOPPING");
+        assertThat(february.getTotalExpenses()).isEqualByComparingTo("55.00");
+        assertThat(rollupService.verify(user.getId()).isConsistent()).isTrue();
+    }
+
+    @Test
+    void rebuild_ShouldRepairDrift() {
+        // Given
+        transactionService.createTransaction(user.getId(),
+                request("12.00", TransactionType.EXPENSE, Category.TRANSPORT, LocalDate.of(2026, 3, 9)),
+                DuplicatePolicy.ALLOW);
+        rollupService.deleteForUser(user.getId());
+        assertThat(rollupService.verify(user.getId()).getDrifts()).hasSize(1);
+
+        // When
+        rollupService.rebuild(user.getId());
+
+        // Then
+        assertThat(rollupService.verify(user.getId()).isConsistent()).isTrue();
+    }
+
+    private static TransactionRequest request(String amount, TransactionType type, Category category, LocalDate date) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(new BigDecimal(amount));
+        request.setDescription("Test " + category);
+        request.setType(type);
+        request.setCategory(category);
+        request.setTransactionDate(date);
+        return request;
+    }
+}
@@ -1,11 +1,18 @@
 package com.rima.expenseflow.service;
 
+import com.rima.expenseflow.dto.DuplicatePolicy;
+import com.rima.expenseflow.dto.MonthlySummaryResponse;
+import com.rima.expenseflow.dto.TransactionFilter;
 import com.rima.expenseflow.dto.TransactionRequest;
 import com.rima.expenseflow.dto.TransactionResponse;
+import com.rima.expenseflow.exception.DuplicateResourceException;
 import com.rima.expenseflow.exception.ResourceNotFoundException;
+import com.rima.expenseflow.model.CategorizationRule;
+import com.rima.expenseflow.model.MonthlyRollup;
 import com.rima.expenseflow.model.Transaction;
 import com.rima.expenseflow.model.User;
 import com.rima.expenseflow.model.enums.Category;
+import com.rima.expenseflow.model.enums.RuleMatchType;
 import com.rima.expenseflow.model.enums.TransactionType;
 import com.rima.expenseflow.repository.TransactionRepository;
 import com.rima.expenseflow.repository.UserRepository;
@@ -19,11 +26,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,6 +49,18 @@ class TransactionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private CategorizationService categorizationService;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
+    @Mock
+    private BudgetService budgetService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -72,11 +95,11 @@ class TransactionServiceTest {
     @Test
     void createTransaction_WhenValid_ShouldCreateTransaction() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
 
         // When
-        TransactionResponse result = transactionService.createTransaction(1L, transactionRequest);
+        TransactionResponse result = transactionService.createTransaction(1L, transactionRequest, DuplicatePolicy.ALLOW);
 
         // Then
         assertThat(result).isNotNull();
@@ -86,13 +109,76 @@ class TransactionServiceTest {
     }
 
     @Test
-    void createTransaction_WhenUserNotFound_ShouldThrowException() {
+    void createTransaction_ShouldUseUserReferenceWithoutLookup() {
+        // Given
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+
+        // When
+        transactionService.createTransaction(1L, transactionRequest, DuplicatePolicy.ALLOW);
+
+        // Then
+        verify(userRepository, never()).findById(any());
+        verify(rollupService).record(eq(1L), any(RollupService.Entry.class));
+    }
+
+    @Test
+    void createTransaction_WithoutCategory_ShouldUseUserRules() {
+        // Given
+        CategorizationRule rule = new CategorizationRule();
+        rule.setPattern("test");
+        rule.setMatchType(RuleMatchType.CONTAINS);
+        rule.setType(TransactionType.EXPENSE);
+        rule.setCategory(Category.SHOPPING);
+        transactionRequest.setCategory(null);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(categorizationService.matcherFor(1L)).thenReturn(CategoryMatcher.compile(List.of(rule)));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TransactionResponse result = transactionService.createTransaction(1L, transactionRequest, DuplicatePolicy.ALLOW);
+
+        // Then
+        assertThat(result.getCategory()).isEqualTo(Category.SHOPPING);
+    }
+
+    @Test
+    void createTransaction_WithCategory_ShouldNotConsultRules() {
         // Given
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+
+        // When
+        transactionService.createTransaction(1L, transactionRequest, DuplicatePolicy.ALLOW);
+
+        // Then
+        verifyNoInteractions(categorizationService);
+    }
+
+    @Test
+    void createTransaction_WhenDuplicateAndSkip_ShouldThrowWithoutSaving() {
+        // Given
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(duplicateDetector.findExisting(eq(1L), anyCollection())).thenReturn(Set.of("existing"));
 
         // When/Then
-        assertThatThrownBy(() -> transactionService.createTransaction(99L, transactionRequest))
-                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> transactionService.createTransaction(1L, transactionRequest, DuplicatePolicy.SKIP))
+                .isInstanceOf(DuplicateResourceException.class);
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void createTransaction_WhenDuplicateAndFlag_ShouldSaveFlagged() {
+        // Given
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(duplicateDetector.findExisting(eq(1L), anyCollection())).thenReturn(Set.of("existing"));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TransactionResponse result = transactionService.createTransaction(1L, transactionRequest, DuplicatePolicy.FLAG);
+
+        // Then
+        assertThat(result.isPossibleDuplicate()).isTrue();
     }
 
     @Test
@@ -101,29 +187,26 @@ class TransactionServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Transaction> transactionPage = new PageImpl<>(Arrays.asList(testTransaction));
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-
-        // Your service calls findByUser(user, pageable) with User object, not userId
-        when(transactionRepository.findByUser(any(User.class), any(Pageable.class)))
+        when(transactionRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(transactionPage);
 
         // When
-        Page<TransactionResponse> result = transactionService.getTransactions(1L, null, null, pageable);
+        Page<TransactionResponse> result = transactionService
+                .getTransactions(1L, new TransactionFilter(), pageable);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getAmount()).isEqualByComparingTo(new BigDecimal("50.00"));
 
-        verify(userRepository, times(1)).findById(1L);
-        verify(transactionRepository, times(1)).findByUser(any(User.class), any(Pageable.class));
+        verify(userRepository, never()).findById(any());
+        verify(transactionRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
     }
+
     @Test
     void getTransactionById_WhenExists_ShouldReturnTransaction() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        // Your service uses findById, not findByIdAndUserId
-        when(transactionRepository.findById(1L))
+        when(transactionRepository.findByIdAndUserId(1L, 1L))
                 .thenReturn(Optional.of(testTransaction));
 
         // When
@@ -137,9 +220,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionById_WhenNotExists_ShouldThrowException() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        // Your service uses findById
-        when(transactionRepository.findById(99L))
+        when(transactionRepository.findByIdAndUserId(99L, 1L))
                 .thenReturn(Optional.empty());
 
         // When/Then
@@ -150,9 +231,7 @@ class TransactionServiceTest {
     @Test
     void deleteTransaction_WhenExists_ShouldDeleteTransaction() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        // Your service uses findById
-        when(transactionRepository.findById(1L))
+        when(transactionRepository.findByIdAndUserId(1L, 1L))
                 .thenReturn(Optional.of(testTransaction));
 
         // When
@@ -161,4 +240,51 @@ class TransactionServiceTest {
         // Then
         verify(transactionRepository, times(1)).delete(testTransaction);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMonthlySummary_ShouldFoldRollupBuckets() {
+        // Given
+        YearMonth month = YearMonth.of(2026, 2);
+        when(rollupService.getMonth(1L, month))
+                .thenReturn(Arrays.asList(
+                        rollup(month, TransactionType.INCOME, Category.SALARY, "3000.00", 1),
+                        rollup(month, TransactionType.EXPENSE, Category.FOOD, "120.50", 3),
+                        rollup(month, TransactionType.EXPENSE, Category.HOUSING, "900.00", 1)
+                ));
+
+        // When
+        MonthlySummaryResponse result = transactionService.getMonthlySummary(1L, month);
+
+        // Then
+        assertThat(result.getTotalIncome()).isEqualByComparingTo("3000.00");
+        assertThat(result.getTotalExpenses()).isEqualByComparingTo("1020.50");
+        assertThat(result.getNetSavings()).isEqualByComparingTo("1979.50");
+        assertThat(result.getExpensesByCategory()).containsOnlyKeys("FOOD", "HOUSING");
+        assertThat(result.getIncomeByCategory()).containsOnlyKeys("SALARY");
+        assertThat(result.getTotalTransactions()).isEqualTo(5);
+    }
+
+    @Test
+    void updateTransaction_ShouldMoveRollupDelta() {
+        // Given
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+        transactionRequest.setAmount(new BigDecimal("75.00"));
+        transactionRequest.setCategory(Category.SHOPPING);
+
+        // When
+        transactionService.updateTransaction(1L, 1L, transactionRequest);
+
+        // Then
+        verify(rollupService).move(eq(1L),
+                argThat(before -> before.category() == Category.FOOD
+                        && before.amount().compareTo(new BigDecimal("50.00")) == 0),
+                argThat(after -> after.category() == Category.SHOPPING
+                        && after.amount().compareTo(new BigDecimal("75.00")) == 0));
+    }
+
+    private static MonthlyRollup rollup(YearMonth month, TransactionType type, Category category,
+                                        String total, long count) {
+        return new MonthlyRollup(null, 1L, month.atDay(1), type, category, new BigDecimal(total), count);
+    }
+}
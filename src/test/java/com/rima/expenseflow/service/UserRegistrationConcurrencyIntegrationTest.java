@@ -0,0 +1,134 @@
+package com.rima.expenseflow.service;
+
+import com.rima.expenseflow.dto.AvailabilityResponse;
+import com.rima.expenseflow.exception.DuplicateResourceException;
+import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: each registration must commit on its own for the race to be real
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRegistrationConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAvailability userAvailability;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserAvailability.FILTER_CACHE).clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getUsername().startsWith("racer"))
+                .toList());
+    }
+
+    @Test
+    void createUser_WhenRacingForOneUsernameOrEmail_ShouldCreateExactlyOne() throws Exception {
+        // When - every thread claims the same username with its own email, then the reverse
+        List<Object> sameUsername = race(i -> user("racer", "racer" + i + "@example.com"));
+        List<Object> sameEmail = race(i -> user("racer" + i, "racer@example.com"));
+
+        // Then
+        assertThat(sameUsername).filteredOn(User.class::isInstance).hasSize(1);
+        assertThat(sameUsername).filteredOn(DuplicateResourceException.class::isInstance)
+                .hasSize(THREADS - 1)
+                .allSatisfy(e -> assertThat(((Exception) e).getMessage()).contains("username"));
+        assertThat(sameEmail).filteredOn(User.class::isInstance).hasSize(1);
+        assertThat(sameEmail).filteredOn(DuplicateResourceException.class::isInstance)
+                .hasSize(THREADS - 1)
+                .allSatisfy(e -> assertThat(((Exception) e).getMessage()).contains("email"));
+        assertThat(userRepository.findAll()).filteredOn(user -> user.getUsername().startsWith("racer"))
+                .hasSize(2);
+    }
+
+    @Test
+    void check_WhenValueWasNeverRegistered_ShouldAnswerWithoutQuerying() {
+        // Given - filter loaded, then one registration recorded into it
+        userAvailability.check("warmup", null);
+        userService.createUser(user("racer_taken", "racer_taken@example.com"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+
+        // When
+        AvailabilityResponse free = userAvailability.check("racer_free", "racer_free@example.com");
+        long afterFree = statistics.getPrepareStatementCount();
+        AvailabilityResponse taken = userAvailability.check("racer_taken", "racer_taken@example.com");
+
+        // Then
+        assertThat(free.getUsernameAvailable()).isTrue();
+        assertThat(free.getEmailAvailable()).isTrue();
+        assertThat(afterFree).isEqualTo(before);
+        assertThat(taken.getUsernameAvailable()).isFalse();
+        assertThat(taken.getEmailAvailable()).isFalse();
+    }
+
+    private List<Object> race(IntFunction<User> users) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                User user = users.apply(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return userService.createUser(user);
+                    } catch (DuplicateResourceException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+        }
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> result : results) {
+            outcomes.add(result.get());
+        }
+        return outcomes;
+    }
+
+    private static User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setRole("ROLE_USER");
+        return user;
+    }
+}
@@ -3,15 +3,20 @@ package com.rima.expenseflow.service;
 import com.rima.expenseflow.exception.DuplicateResourceException;
 import com.rima.expenseflow.exception.ResourceNotFoundException;
 import com.rima.expenseflow.model.User;
+import com.rima.expenseflow.repository.RecurringTransactionRepository;
 import com.rima.expenseflow.repository.UserRepository;
+import com.rima.expenseflow.security.CustomUserDetailsService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +34,24 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private UserAvailability userAvailability;
+
+    @Mock
+    private RecurringTransactionRepository recurringRepository;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private CategorizationService categorizationService;
+
     @InjectMocks
     private UserService userService;
 
@@ -87,24 +110,25 @@ class UserServiceTest {
     @Test
     void createUser_WhenValid_ShouldCreateUser() {
         // Given
-        when(userRepository.existsByUsername(testUser.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(testUser.getPassword())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // When
         User result = userService.createUser(testUser);
 
-        // Then
+        // Then - a single insert, no existence checks
         assertThat(result).isNotNull();
         verify(passwordEncoder, times(1)).encode("password123");
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userAvailability).record(testUser);
     }
 
     @Test
     void createUser_WhenUsernameExists_ShouldThrowException() {
         // Given
-        when(userRepository.existsByUsername(testUser.getUsername())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.USERNAME_CONSTRAINT));
 
         // When/Then
         assertThatThrownBy(() -> userService.createUser(testUser))
@@ -115,13 +139,13 @@ class UserServiceTest {
     @Test
     void createUser_WhenEmailExists_ShouldThrowException() {
         // Given
-        when(userRepository.existsByUsername(testUser.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.EMAIL_CONSTRAINT));
 
         // When/Then
         assertThatThrownBy(() -> userService.createUser(testUser))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining("email");
+        verify(userAvailability, never()).record(any());
     }
 
     @Test
@@ -134,6 +158,11 @@ class UserServiceTest {
 
         // Then
         verify(userRepository, times(1)).delete(testUser);
+        verify(rollupService).deleteForUser(1L);
+        verify(recurringRepository).deleteByUserId(1L);
+        verify(budgetService).deleteForUser(1L);
+        verify(categorizationService).deleteForUser(1L);
+        verify(userDetailsService).evict("testuser");
     }
 
     @Test
@@ -148,4 +177,9 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo("testuser");
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException(), constraint));
+    }
+}
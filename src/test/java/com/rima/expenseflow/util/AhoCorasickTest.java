@@ -0,0 +1,51 @@
+package com.rima.expenseflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickTest {
+
+    @Test
+    void match_ShouldReportOverlappingOccurrencesInEndOrder() {
+        // Given
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "his", "hers"));
+
+        // When
+        List<Integer> found = new ArrayList<>();
+        automaton.match("ushers", found::add);
+
+        // Then - "she" and "he" both end at index 3, "hers" at 5
+        assertThat(found).containsExactly(1, 0, 3);
+    }
+
+    @Test
+    void match_ShouldIgnoreCaseAndFindRepeats() {
+        // Given
+        AhoCorasick automaton = new AhoCorasick(List.of("Uber", "uber eats"));
+
+        // When
+        List<Integer> found = new ArrayList<>();
+        automaton.match("UBER EATS order, then uber", found::add);
+
+        // Then
+        assertThat(found).containsExactly(0, 1, 0);
+    }
+
+    @Test
+    void match_WithNoKeywords_ShouldFindNothing() {
+        List<Integer> found = new ArrayList<>();
+        new AhoCorasick(List.of()).match("anything", found::add);
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void constructor_WhenKeywordIsEmpty_ShouldThrow() {
+        assertThatThrownBy(() -> new AhoCorasick(List.of("ok", "")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
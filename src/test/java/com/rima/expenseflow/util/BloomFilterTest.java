@@ -0,0 +1,47 @@
+package com.rima.expenseflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissInsertedAndRarelyMatchOthers() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        long[][] inserted = new long[10_000][];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = new long[]{random.nextLong(), random.nextLong()};
+            filter.put(inserted[i][0], inserted[i][1]);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (long[] hash : inserted) {
+            assertThat(filter.mightContain(hash[0], hash[1])).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void isSaturated_ShouldTurnTrueBeyondCapacity() {
+        BloomFilter filter = BloomFilter.create(2, 0.01);
+        filter.put(1, 2);
+        filter.put(3, 4);
+        assertThat(filter.isSaturated()).isFalse();
+        filter.put(5, 6);
+        assertThat(filter.isSaturated()).isTrue();
+    }
+}
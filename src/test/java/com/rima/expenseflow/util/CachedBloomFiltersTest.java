@@ -0,0 +1,36 @@
+package com.rima.expenseflow.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedBloomFiltersTest {
+
+    @Test
+    void putIfLoaded_WhenNotLoaded_ShouldLeaveTheCacheEmpty() {
+        Cache cache = new ConcurrentMapCache("filters");
+
+        CachedBloomFilters.putIfLoaded(cache, 1L, filter -> filter.put(1, 2));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void putIfLoaded_ShouldAddUntilSaturatedThenEvict() {
+        // Given - room for 2 * 1 entries
+        Cache cache = new ConcurrentMapCache("filters");
+        BloomFilter loaded = CachedBloomFilters.sizedFor(1, 1);
+        cache.put(1L, loaded);
+
+        // When/Then
+        CachedBloomFilters.putIfLoaded(cache, 1L, filter -> filter.put(1, 2));
+        CachedBloomFilters.putIfLoaded(cache, 1L, filter -> filter.put(3, 4));
+        assertThat(cache.get(1L, BloomFilter.class)).isSameAs(loaded);
+        assertThat(loaded.mightContain(3, 4)).isTrue();
+
+        CachedBloomFilters.putIfLoaded(cache, 1L, filter -> filter.put(5, 6));
+        assertThat(cache.get(1L)).isNull();
+    }
+}
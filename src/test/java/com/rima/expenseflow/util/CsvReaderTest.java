@@ -0,0 +1,70 @@
+package com.rima.expenseflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void next_ShouldHandleQuotesDelimitersAndLineBreaksInsideFields() throws IOException {
+        // Given
+        CsvReader reader = reader("a,\"b,c\",\"say \"\"hi\"\"\"\r\n"
+                + "\"multi\r\nline\",,last\r\n"
+                + "\r\n"
+                + "x,y,z");
+
+        // When/Then
+        assertThat(reader.next()).containsExactly("a", "b,c", "say \"hi\"");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("multi\r\nline", "", "last");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("x", "y", "z");
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_ShouldAcceptLfAndCrLineEndings() throws IOException {
+        // Given
+        CsvReader reader = reader("1,2\n3,4\r5,6\n");
+
+        // When/Then
+        assertThat(List.of(reader.next(), reader.next(), reader.next()))
+                .containsExactly(List.of("1", "2"), List.of("3", "4"), List.of("5", "6"));
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_WhenQuoteIsUnterminated_ShouldThrowWithStartLine() throws IOException {
+        // Given
+        CsvReader reader = reader("ok,row\n\"never\nclosed");
+        reader.next();
+
+        // When/Then
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CsvFormatException.class)
+                .hasMessageStartingWith("Line 2:");
+    }
+
+    @Test
+    void next_WhenRecordExceedsLimit_ShouldThrowInsteadOfBuffering() {
+        // Given - an unterminated quote would otherwise swallow the rest of the file
+        CsvReader reader = new CsvReader(new StringReader("\"" + "x".repeat(100)), ',', 50);
+
+        // When/Then
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CsvFormatException.class)
+                .hasMessageContaining("50");
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new StringReader(text), ',', 1024);
+    }
+}